@@ -0,0 +1,116 @@
+package ziadatari.ReactiveAPI.dto;
+
+import io.vertx.core.json.JsonObject;
+import ziadatari.ReactiveAPI.exception.ErrorCode;
+
+/**
+ * Outcome of one item of a partial-success batch creation
+ * ({@code POST /employees?mode=partial}).
+ * <p>
+ * Each item is reported by its position in the request, so clients can
+ * resubmit exactly the items that were not written.
+ * </p>
+ */
+public class BatchItemResult {
+
+  /**
+   * What happened to a batch item.
+   */
+  public enum Status {
+    /** A new employee was inserted. */
+    CREATED,
+    /** A soft-deleted employee was reactivated with the submitted data. */
+    REACTIVATED,
+    /** An active employee with the same name and department already exists. */
+    CONFLICT,
+    /** The item failed validation and was not written. */
+    INVALID
+  }
+
+  /** Position of the item in the request array. */
+  private final int index;
+  private final Status status;
+  /** ID of the written employee; null unless CREATED or REACTIVATED. */
+  private final String id;
+  private final String name;
+  /** Error details; null unless CONFLICT or INVALID. */
+  private final ErrorCode error;
+  private final String message;
+
+  private BatchItemResult(int index, Status status, String id, String name, ErrorCode error, String message) {
+    this.index = index;
+    this.status = status;
+    this.id = id;
+    this.name = name;
+    this.error = error;
+    this.message = message;
+  }
+
+  /**
+   * Reports a written item.
+   *
+   * @param index  the item position
+   * @param status CREATED or REACTIVATED
+   * @param dto    the written employee, carrying its ID
+   * @return the result
+   */
+  public static BatchItemResult written(int index, Status status, EmployeeDTO dto) {
+    return new BatchItemResult(index, status, dto.getId(), dto.getName(), null, null);
+  }
+
+  /**
+   * Reports an item that was not written.
+   *
+   * @param index   the item position
+   * @param status  CONFLICT or INVALID
+   * @param error   the error code
+   * @param message the error message
+   * @return the result
+   */
+  public static BatchItemResult rejected(int index, Status status, ErrorCode error, String message) {
+    return new BatchItemResult(index, status, null, null, error, message);
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public ErrorCode getError() {
+    return error;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * Converts the result to its response form: {@code index}, {@code status},
+   * then {@code id} and {@code name} for written items, or {@code errorCode}
+   * and {@code message} for rejected ones.
+   *
+   * @return the JSON representation
+   */
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject()
+        .put("index", index)
+        .put("status", status.name());
+    if (error == null) {
+      json.put("id", id).put("name", name);
+    } else {
+      json.put("errorCode", error.getCode()).put("message", message);
+    }
+    return json;
+  }
+}
@@ -0,0 +1,151 @@
+package ziadatari.ReactiveAPI.dto;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.MessageCodec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Event Bus codec for {@link EmployeeDTO}.
+ * <p>
+ * <b>Local delivery</b> (the normal case: controller and EmployeeVerticle share
+ * one JVM) passes the DTO by reference, with no JSON conversion. Senders must
+ * not modify a DTO after sending it.
+ * </p>
+ * <p>
+ * <b>Clustered delivery</b> uses a compact binary form: a presence bitmask
+ * byte, then each non-null field in declaration order (strings as
+ * length-prefixed UTF-8, salary as an 8-byte double, active as one byte).
+ * </p>
+ */
+public class EmployeeCodec implements MessageCodec<EmployeeDTO, EmployeeDTO> {
+
+  /** Codec name, registered as the default codec for EmployeeDTO. */
+  public static final String NAME = "employee-dto";
+
+  private static final int ID = 1;
+  private static final int NAME_BIT = 1 << 1;
+  private static final int DEPARTMENT = 1 << 2;
+  private static final int SALARY = 1 << 3;
+  private static final int ACTIVE = 1 << 4;
+  private static final int LAST_MODIFIED_BY = 1 << 5;
+  private static final int LAST_MODIFIED_AT = 1 << 6;
+
+  /**
+   * Registers the employee codecs on an Event Bus. Must be called once per
+   * Vertx instance, before any verticle exchanges employee messages.
+   *
+   * @param eventBus the Event Bus to register the codecs on
+   */
+  public static void registerAll(EventBus eventBus) {
+    eventBus.registerDefaultCodec(EmployeeDTO.class, new EmployeeCodec());
+    eventBus.registerCodec(new EmployeeListCodec());
+    eventBus.registerDefaultCodec(EncodedEmployeeList.class, new EncodedEmployeeList.Codec());
+  }
+
+  @Override
+  public void encodeToWire(Buffer buffer, EmployeeDTO dto) {
+    write(buffer, dto);
+  }
+
+  @Override
+  public EmployeeDTO decodeFromWire(int pos, Buffer buffer) {
+    return read(new int[] { pos }, buffer);
+  }
+
+  @Override
+  public EmployeeDTO transform(EmployeeDTO dto) {
+    return dto;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+
+  /**
+   * Appends the binary form of a DTO to a buffer.
+   *
+   * @param buffer the buffer to write to
+   * @param dto    the DTO to encode
+   */
+  static void write(Buffer buffer, EmployeeDTO dto) {
+    int mask = (dto.getId() != null ? ID : 0)
+        | (dto.getName() != null ? NAME_BIT : 0)
+        | (dto.getDepartment() != null ? DEPARTMENT : 0)
+        | (dto.getSalary() != null ? SALARY : 0)
+        | (dto.isActive() != null ? ACTIVE : 0)
+        | (dto.getLastModifiedBy() != null ? LAST_MODIFIED_BY : 0)
+        | (dto.getLastModifiedAt() != null ? LAST_MODIFIED_AT : 0);
+    buffer.appendByte((byte) mask);
+    writeString(buffer, dto.getId());
+    writeString(buffer, dto.getName());
+    writeString(buffer, dto.getDepartment());
+    if (dto.getSalary() != null) {
+      buffer.appendDouble(dto.getSalary());
+    }
+    if (dto.isActive() != null) {
+      buffer.appendByte((byte) (dto.isActive() ? 1 : 0));
+    }
+    writeString(buffer, dto.getLastModifiedBy());
+    writeString(buffer, dto.getLastModifiedAt());
+  }
+
+  /**
+   * Reads a DTO written by {@link #write(Buffer, EmployeeDTO)}.
+   *
+   * @param pos    a one-element array holding the read position, advanced past
+   *               the DTO
+   * @param buffer the buffer to read from
+   * @return the decoded DTO
+   */
+  static EmployeeDTO read(int[] pos, Buffer buffer) {
+    int mask = buffer.getByte(pos[0]++);
+    EmployeeDTO dto = new EmployeeDTO();
+    dto.setActive(null);
+    if ((mask & ID) != 0) {
+      dto.setId(readString(pos, buffer));
+    }
+    if ((mask & NAME_BIT) != 0) {
+      dto.setName(readString(pos, buffer));
+    }
+    if ((mask & DEPARTMENT) != 0) {
+      dto.setDepartment(readString(pos, buffer));
+    }
+    if ((mask & SALARY) != 0) {
+      dto.setSalary(buffer.getDouble(pos[0]));
+      pos[0] += Double.BYTES;
+    }
+    if ((mask & ACTIVE) != 0) {
+      dto.setActive(buffer.getByte(pos[0]++) != 0);
+    }
+    if ((mask & LAST_MODIFIED_BY) != 0) {
+      dto.setLastModifiedBy(readString(pos, buffer));
+    }
+    if ((mask & LAST_MODIFIED_AT) != 0) {
+      dto.setLastModifiedAt(readString(pos, buffer));
+    }
+    return dto;
+  }
+
+  private static void writeString(Buffer buffer, String value) {
+    if (value != null) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      buffer.appendInt(bytes.length).appendBytes(bytes);
+    }
+  }
+
+  private static String readString(int[] pos, Buffer buffer) {
+    int length = buffer.getInt(pos[0]);
+    pos[0] += Integer.BYTES;
+    String value = buffer.getString(pos[0], pos[0] + length, "UTF-8");
+    pos[0] += length;
+    return value;
+  }
+}
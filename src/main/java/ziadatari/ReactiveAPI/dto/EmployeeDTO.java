@@ -2,6 +2,8 @@ package ziadatari.ReactiveAPI.dto;
 
 import io.vertx.core.json.JsonObject;
 
+import java.util.Set;
+
 // DTO Object for Employee
 // Isolation between API and DB
 
@@ -73,6 +75,46 @@ public class EmployeeDTO {
 
   }
 
+  /**
+   * Converts this DTO to a JsonObject containing only the requested fields
+   * (sparse fieldset).
+   *
+   * @param fields the projection to encode
+   * @return a JsonObject containing the selected employee data
+   */
+  public JsonObject toJson(Set<EmployeeField> fields) {
+    if (fields.size() == EmployeeField.ALL.size()) {
+      return toJson();
+    }
+    JsonObject json = new JsonObject();
+    for (EmployeeField field : fields) {
+      switch (field) {
+        case ID:
+          json.put("id", id);
+          break;
+        case NAME:
+          json.put("name", name);
+          break;
+        case DEPARTMENT:
+          json.put("department", department);
+          break;
+        case SALARY:
+          json.put("salary", salary);
+          break;
+        case ACTIVE:
+          json.put("active", active);
+          break;
+        case LAST_MODIFIED_BY:
+          json.put("lastModifiedBy", lastModifiedBy);
+          break;
+        case LAST_MODIFIED_AT:
+          json.put("lastModifiedAt", lastModifiedAt);
+          break;
+      }
+    }
+    return json;
+  }
+
   /**
    * Static factory method to create an EmployeeDTO from a Vert.x JsonObject.
    *
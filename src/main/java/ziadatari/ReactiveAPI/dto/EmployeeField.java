@@ -0,0 +1,111 @@
+package ziadatari.ReactiveAPI.dto;
+
+import io.vertx.core.json.JsonArray;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The fields of an Employee, as exposed by the API and stored in the
+ * {@code employees} table.
+ * <p>
+ * Used for sparse fieldsets ({@code ?fields=id,name}): a projection is a set of
+ * these constants, carried from the query string down to the SQL column list,
+ * the row mapping and the JSON encoder.
+ * </p>
+ */
+public enum EmployeeField {
+  ID("id", "id"),
+  NAME("name", "name"),
+  /** Stored as an ID into the {@code departments} dictionary table. */
+  DEPARTMENT("department", "department_id"),
+  SALARY("salary", "salary"),
+  ACTIVE("active", "active"),
+  LAST_MODIFIED_BY("lastModifiedBy", "last_modified_by"),
+  LAST_MODIFIED_AT("lastModifiedAt", "last_modified_at");
+
+  /** Every field; the default projection. */
+  public static final Set<EmployeeField> ALL = Collections.unmodifiableSet(EnumSet.allOf(EmployeeField.class));
+
+  /** The JSON property name used by the API. */
+  private final String jsonName;
+  /** The column name in the {@code employees} table. */
+  private final String column;
+
+  EmployeeField(String jsonName, String column) {
+    this.jsonName = jsonName;
+    this.column = column;
+  }
+
+  public String getJsonName() {
+    return jsonName;
+  }
+
+  public String getColumn() {
+    return column;
+  }
+
+  /**
+   * Resolves a field from its JSON property name.
+   *
+   * @param jsonName the API field name (e.g., "lastModifiedAt")
+   * @return the matching field
+   * @throws IllegalArgumentException if no field has this name
+   */
+  public static EmployeeField fromJsonName(String jsonName) {
+    for (EmployeeField field : values()) {
+      if (field.jsonName.equals(jsonName)) {
+        return field;
+      }
+    }
+    throw new IllegalArgumentException("Unknown field: " + jsonName);
+  }
+
+  /**
+   * Parses a comma-separated fieldset such as {@code "id,name,department"}.
+   *
+   * @param csv the fieldset, or null/blank for every field
+   * @return the projection (never empty)
+   * @throws IllegalArgumentException if a field name is unknown
+   */
+  public static Set<EmployeeField> parse(String csv) {
+    if (csv == null || csv.isBlank()) {
+      return ALL;
+    }
+    EnumSet<EmployeeField> fields = EnumSet.noneOf(EmployeeField.class);
+    for (String name : csv.split(",")) {
+      fields.add(fromJsonName(name.trim()));
+    }
+    return fields;
+  }
+
+  /**
+   * Converts a projection to a JsonArray of field names, for the Event Bus.
+   *
+   * @param fields the projection
+   * @return the JSON representation
+   */
+  public static JsonArray toJson(Set<EmployeeField> fields) {
+    JsonArray json = new JsonArray();
+    fields.forEach(field -> json.add(field.jsonName));
+    return json;
+  }
+
+  /**
+   * Restores a projection from its JSON representation.
+   *
+   * @param json the field names, or null for every field
+   * @return the projection
+   */
+  public static Set<EmployeeField> fromJson(JsonArray json) {
+    if (json == null || json.isEmpty()) {
+      return ALL;
+    }
+    EnumSet<EmployeeField> fields = EnumSet.noneOf(EmployeeField.class);
+    for (int i = 0; i < json.size(); i++) {
+      fields.add(fromJsonName(json.getString(i)));
+    }
+    return fields;
+  }
+}
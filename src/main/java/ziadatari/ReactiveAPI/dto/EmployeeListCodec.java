@@ -0,0 +1,62 @@
+package ziadatari.ReactiveAPI.dto;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.MessageCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Event Bus codec for lists of {@link EmployeeDTO}.
+ * <p>
+ * Locally the list is passed by reference (cached lists are unmodifiable, so
+ * sharing them is safe). Across a cluster it is an element count followed by
+ * each DTO in the binary form of {@link EmployeeCodec}.
+ * </p>
+ * <p>
+ * Generic lists cannot have a default codec, so senders select this one by
+ * name through {@link #OPTIONS}.
+ * </p>
+ */
+public class EmployeeListCodec implements MessageCodec<List<EmployeeDTO>, List<EmployeeDTO>> {
+
+  /** Codec name, used in {@link DeliveryOptions#setCodecName(String)}. */
+  public static final String NAME = "employee-dto-list";
+
+  /** Delivery options selecting this codec. Shared; do not modify. */
+  public static final DeliveryOptions OPTIONS = new DeliveryOptions().setCodecName(NAME);
+
+  @Override
+  public void encodeToWire(Buffer buffer, List<EmployeeDTO> list) {
+    buffer.appendInt(list.size());
+    list.forEach(dto -> EmployeeCodec.write(buffer, dto));
+  }
+
+  @Override
+  public List<EmployeeDTO> decodeFromWire(int pos, Buffer buffer) {
+    int[] position = { pos };
+    int size = buffer.getInt(position[0]);
+    position[0] += Integer.BYTES;
+    List<EmployeeDTO> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(EmployeeCodec.read(position, buffer));
+    }
+    return list;
+  }
+
+  @Override
+  public List<EmployeeDTO> transform(List<EmployeeDTO> list) {
+    return list;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+}
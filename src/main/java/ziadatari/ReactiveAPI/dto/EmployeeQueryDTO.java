@@ -0,0 +1,202 @@
+package ziadatari.ReactiveAPI.dto;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Data Transfer Object describing a filtered, sorted and/or paginated employee
+ * list query.
+ * <p>
+ * Built by the web layer from query parameters, sent over the Event Bus as
+ * JSON, and translated into parameterized SQL by the repository.
+ * </p>
+ */
+public class EmployeeQueryDTO {
+
+  /** Fields that may appear in {@code sort}, using their API (JSON) names. */
+  public static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "department", "salary", "lastModifiedAt");
+
+  /** Exact department match, or null for any department. */
+  private final String department;
+  /** Inclusive lower salary bound, or null. */
+  private final Double minSalary;
+  /** Inclusive upper salary bound, or null. */
+  private final Double maxSalary;
+  /** Sort keys in priority order; a leading '-' means descending. */
+  private final List<String> sort;
+  /** Maximum number of rows (top-N / page size), or null for no limit. */
+  private final Integer limit;
+  /** Keyset cursor: only rows whose ID sorts after this value. */
+  private final String after;
+  /** Sparse fieldset: the columns to read and the properties to return. */
+  private final Set<EmployeeField> fields;
+
+  private EmployeeQueryDTO(String department, Double minSalary, Double maxSalary, List<String> sort,
+      Integer limit, String after, Set<EmployeeField> fields) {
+    this.department = department;
+    this.minSalary = minSalary;
+    this.maxSalary = maxSalary;
+    this.sort = sort != null ? Collections.unmodifiableList(sort) : Collections.emptyList();
+    this.limit = limit;
+    this.after = after;
+    this.fields = fields != null ? fields : EmployeeField.ALL;
+  }
+
+  /**
+   * Helper method to convert this DTO to a Vert.x JsonObject.
+   *
+   * @return a JsonObject containing the query
+   */
+  public JsonObject toJson() {
+    return new JsonObject()
+        .put("department", department)
+        .put("minSalary", minSalary)
+        .put("maxSalary", maxSalary)
+        .put("sort", new JsonArray(new ArrayList<>(sort)))
+        .put("limit", limit)
+        .put("after", after)
+        .put("fields", EmployeeField.toJson(fields));
+  }
+
+  /**
+   * Static factory method to create an EmployeeQueryDTO from a Vert.x
+   * JsonObject.
+   *
+   * @param json the JsonObject to parse
+   * @return a new EmployeeQueryDTO instance
+   */
+  public static EmployeeQueryDTO fromJson(JsonObject json) {
+    List<String> sort = new ArrayList<>();
+    JsonArray sortJson = json.getJsonArray("sort");
+    if (sortJson != null) {
+      for (int i = 0; i < sortJson.size(); i++) {
+        sort.add(sortJson.getString(i));
+      }
+    }
+    return new EmployeeQueryDTO(
+        json.getString("department"),
+        json.getDouble("minSalary"),
+        json.getDouble("maxSalary"),
+        sort,
+        json.getInteger("limit"),
+        json.getString("after"),
+        EmployeeField.fromJson(json.getJsonArray("fields")));
+  }
+
+  /**
+   * Builds a canonical key that identifies this exact query, used for result
+   * caching.
+   *
+   * @return the cache key
+   */
+  public String cacheKey() {
+    return "q:" + department + '|' + minSalary + '|' + maxSalary + '|' + String.join(",", sort) + '|' + limit
+        + '|' + after + '|' + fields;
+  }
+
+  /**
+   * Indicates whether the client asked for an explicit ordering (anything other
+   * than the default ID order used for keyset pagination).
+   *
+   * @return true if a sort was requested
+   */
+  public boolean hasCustomSort() {
+    return !sort.isEmpty();
+  }
+
+  /**
+   * Static entry point for the Builder.
+   *
+   * @return a new Builder instance
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Builder class for EmployeeQueryDTO.
+   */
+  public static class Builder {
+    private String department;
+    private Double minSalary;
+    private Double maxSalary;
+    private List<String> sort;
+    private Integer limit;
+    private String after;
+    private Set<EmployeeField> fields;
+
+    public Builder department(String department) {
+      this.department = department;
+      return this;
+    }
+
+    public Builder minSalary(Double minSalary) {
+      this.minSalary = minSalary;
+      return this;
+    }
+
+    public Builder maxSalary(Double maxSalary) {
+      this.maxSalary = maxSalary;
+      return this;
+    }
+
+    public Builder sort(List<String> sort) {
+      this.sort = sort;
+      return this;
+    }
+
+    public Builder limit(Integer limit) {
+      this.limit = limit;
+      return this;
+    }
+
+    public Builder after(String after) {
+      this.after = after;
+      return this;
+    }
+
+    public Builder fields(Set<EmployeeField> fields) {
+      this.fields = fields;
+      return this;
+    }
+
+    public EmployeeQueryDTO build() {
+      return new EmployeeQueryDTO(department, minSalary, maxSalary, sort, limit, after, fields);
+    }
+  }
+
+  // Standard Getters
+
+  public String getDepartment() {
+    return department;
+  }
+
+  public Double getMinSalary() {
+    return minSalary;
+  }
+
+  public Double getMaxSalary() {
+    return maxSalary;
+  }
+
+  public List<String> getSort() {
+    return sort;
+  }
+
+  public Integer getLimit() {
+    return limit;
+  }
+
+  public String getAfter() {
+    return after;
+  }
+
+  public Set<EmployeeField> getFields() {
+    return fields;
+  }
+}
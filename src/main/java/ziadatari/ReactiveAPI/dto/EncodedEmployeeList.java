@@ -0,0 +1,144 @@
+package ziadatari.ReactiveAPI.dto;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A list of employees already serialized as a JSON array, ready to be written
+ * to an HTTP response.
+ * <p>
+ * Read-only list paths serialize database rows straight into this form, so
+ * no EmployeeDTO or JsonObject is built per row. The few facts the web layer
+ * still needs about the content (row count, last ID and last modification
+ * time, for keyset pagination links) travel alongside the bytes.
+ * </p>
+ * <p>
+ * Instances are immutable once built and may be cached and shared between
+ * event loops. The JSON buffer must not be modified.
+ * </p>
+ */
+public class EncodedEmployeeList {
+
+  /** The JSON array. */
+  private final Buffer json;
+  /** Number of elements in the array. */
+  private final int count;
+  /** ID of the last element, or null if empty or IDs were not selected. */
+  private final String lastId;
+  /**
+   * Modification time of the last element, or null if empty or not selected.
+   */
+  private final String lastModifiedAt;
+
+  /**
+   * Constructs an EncodedEmployeeList.
+   *
+   * @param json   the serialized JSON array
+   * @param count  the number of elements
+   * @param lastId the ID of the last element, or null
+   */
+  public EncodedEmployeeList(Buffer json, int count, String lastId) {
+    this(json, count, lastId, null);
+  }
+
+  /**
+   * Constructs an EncodedEmployeeList that also records the modification time
+   * of its last element.
+   *
+   * @param json           the serialized JSON array
+   * @param count          the number of elements
+   * @param lastId         the ID of the last element, or null
+   * @param lastModifiedAt the modification time of the last element, or null
+   */
+  public EncodedEmployeeList(Buffer json, int count, String lastId, String lastModifiedAt) {
+    this.json = json;
+    this.count = count;
+    this.lastId = lastId;
+    this.lastModifiedAt = lastModifiedAt;
+  }
+
+  public Buffer getJson() {
+    return json;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public String getLastId() {
+    return lastId;
+  }
+
+  public String getLastModifiedAt() {
+    return lastModifiedAt;
+  }
+
+  /**
+   * Event Bus codec, registered as the default codec for EncodedEmployeeList.
+   * Local delivery passes the instance by reference; clustered delivery sends
+   * the count, the last ID, the last modification time and the JSON bytes,
+   * each length-prefixed.
+   */
+  public static class Codec implements MessageCodec<EncodedEmployeeList, EncodedEmployeeList> {
+
+    /** Codec name. */
+    public static final String NAME = "encoded-employee-list";
+
+    @Override
+    public void encodeToWire(Buffer buffer, EncodedEmployeeList list) {
+      buffer.appendInt(list.count);
+      appendString(buffer, list.lastId);
+      appendString(buffer, list.lastModifiedAt);
+      buffer.appendInt(list.json.length()).appendBuffer(list.json);
+    }
+
+    private static void appendString(Buffer buffer, String value) {
+      if (value == null) {
+        buffer.appendInt(-1);
+      } else {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.appendInt(bytes.length).appendBytes(bytes);
+      }
+    }
+
+    @Override
+    public EncodedEmployeeList decodeFromWire(int pos, Buffer buffer) {
+      int count = buffer.getInt(pos);
+      pos += Integer.BYTES;
+      int lastIdLength = buffer.getInt(pos);
+      pos += Integer.BYTES;
+      String lastId = null;
+      if (lastIdLength >= 0) {
+        lastId = buffer.getString(pos, pos + lastIdLength, "UTF-8");
+        pos += lastIdLength;
+      }
+      int lastModifiedAtLength = buffer.getInt(pos);
+      pos += Integer.BYTES;
+      String lastModifiedAt = null;
+      if (lastModifiedAtLength >= 0) {
+        lastModifiedAt = buffer.getString(pos, pos + lastModifiedAtLength, "UTF-8");
+        pos += lastModifiedAtLength;
+      }
+      int jsonLength = buffer.getInt(pos);
+      pos += Integer.BYTES;
+      return new EncodedEmployeeList(buffer.getBuffer(pos, pos + jsonLength), count, lastId, lastModifiedAt);
+    }
+
+    @Override
+    public EncodedEmployeeList transform(EncodedEmployeeList list) {
+      return list;
+    }
+
+    @Override
+    public String name() {
+      return NAME;
+    }
+
+    @Override
+    public byte systemCodecID() {
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package ziadatari.ReactiveAPI.dto;
+
+/**
+ * Wire formats of the full-table export ({@code GET /employees/export}).
+ * <p>
+ * Both are line-oriented, so an export can be written row by row and read
+ * back without holding the whole table in memory on either side.
+ * </p>
+ */
+public enum ExportFormat {
+  /** One JSON object per line. */
+  NDJSON("ndjson", "application/x-ndjson"),
+  /** RFC 4180 CSV with a header row of field names. */
+  CSV("csv", "text/csv; charset=utf-8");
+
+  /** The value of the {@code format} query parameter. */
+  private final String param;
+  private final String contentType;
+
+  ExportFormat(String param, String contentType) {
+    this.param = param;
+    this.contentType = contentType;
+  }
+
+  public String getParam() {
+    return param;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  /**
+   * Resolves a format from its query parameter value.
+   *
+   * @param param the parameter value, or null/blank for NDJSON
+   * @return the matching format
+   * @throws IllegalArgumentException if the value is unknown
+   */
+  public static ExportFormat fromParam(String param) {
+    if (param == null || param.isBlank()) {
+      return NDJSON;
+    }
+    for (ExportFormat format : values()) {
+      if (format.param.equalsIgnoreCase(param.trim())) {
+        return format;
+      }
+    }
+    throw new IllegalArgumentException("Unknown export format: " + param);
+  }
+}
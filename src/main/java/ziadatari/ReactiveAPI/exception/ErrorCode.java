@@ -46,6 +46,8 @@ public enum ErrorCode {
   EMPTY_BODY(400, "REQ_002", "Request body cannot be empty."),
   /** Rate limit exceeded for the client IP. */
   TOO_MANY_REQUESTS(429, "REQ_003", "Too many requests. Please try again later."),
+  /** Request body exceeds the configured size limit. */
+  PAYLOAD_TOO_LARGE(413, "REQ_004", "Request body exceeds the allowed size."),
 
   // --- SECURITY / VERIFICATION ERRORS ---
   /** Client IP is not authorized to access the resource. */
@@ -61,7 +63,15 @@ public enum ErrorCode {
   /** Authentication token is invalid or malformed. */
   TOKEN_INVALID(401, "SEC_005", "Authentication token is invalid or malformed."),
   /** Authentication token has expired. */
-  TOKEN_EXPIRED(401, "SEC_006", "Authentication token has expired.");
+  TOKEN_EXPIRED(401, "SEC_006", "Authentication token has expired."),
+
+  // --- JOB ERRORS ---
+  /** Requested background job does not exist (or has expired). */
+  JOB_NOT_FOUND(404, "JOB_001", "Job with the provided ID was not found."),
+
+  // --- CHANGE FEED ERRORS ---
+  /** Resume point is older than the retained change history. */
+  CHANGES_EXPIRED(410, "CHG_001", "Changes since the requested version are no longer available. Reload the full list.");
 
   /** The HTTP status code to be returned to the client (e.g., 404). */
   private final int httpStatus;
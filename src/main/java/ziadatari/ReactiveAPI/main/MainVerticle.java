@@ -4,11 +4,15 @@ import io.vertx.core.AbstractVerticle;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.ThreadingModel;
 import io.vertx.core.json.JsonObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ziadatari.ReactiveAPI.auth.AuthVerticle;
+import ziadatari.ReactiveAPI.dto.EmployeeCodec;
 import ziadatari.ReactiveAPI.repository.EmployeeVerticle;
+import ziadatari.ReactiveAPI.repository.ImportVerticle;
+import ziadatari.ReactiveAPI.repository.MigrationRunner;
 import ziadatari.ReactiveAPI.repository.UserVerticle;
 import ziadatari.ReactiveAPI.web.HttpVerticle;
 
@@ -43,15 +47,59 @@ public class MainVerticle extends AbstractVerticle {
         .put("port", dbPort)
         .put("database", "payroll_db")
         .put("user", "root")
-        .put("password", dbPassword);
+        .put("password", dbPassword)
+        .put("writePoolSize", Integer.parseInt(System.getenv().getOrDefault("DB_WRITE_POOL_SIZE", "10")))
+        .put("readPoolSize", Integer.parseInt(System.getenv().getOrDefault("DB_READ_POOL_SIZE", "10")))
+        .put("changesSettleMs", Long.parseLong(System.getenv().getOrDefault("DELTA_SYNC_SETTLE_MS", "5000")));
+
+    // 1.1 Optional group commit for single creates
+    dbconfig.put("groupCommit", new JsonObject()
+        .put("enabled", Boolean.parseBoolean(System.getenv().getOrDefault("DB_GROUP_COMMIT_ENABLED", "false")))
+        .put("windowMs", Long.parseLong(System.getenv().getOrDefault("DB_GROUP_COMMIT_WINDOW_MS", "2")))
+        .put("maxBatch", Integer.parseInt(System.getenv().getOrDefault("DB_GROUP_COMMIT_MAX_BATCH", "64"))));
+
+    // 1.2 Admission control for batch creations
+    dbconfig.put("batch", new JsonObject()
+        .put("maxConcurrent", Integer.parseInt(System.getenv().getOrDefault("DB_BATCH_MAX_CONCURRENT", "2")))
+        .put("maxQueued", Integer.parseInt(System.getenv().getOrDefault("DB_BATCH_MAX_QUEUED", "32"))));
+
+    // 1.3 Schema migrations, applied at startup unless an external tool owns them
+    dbconfig.put("migrations", new JsonObject()
+        .put("enabled", Boolean.parseBoolean(System.getenv().getOrDefault("DB_MIGRATIONS_ENABLED", "true"))));
+
+    // 1.4 Optional read replica for employee reads (shares credentials)
+    String replicaHost = System.getenv("DB_REPLICA_HOST");
+    if (replicaHost != null && !replicaHost.isEmpty()) {
+      dbconfig.put("replica", new JsonObject()
+          .put("host", replicaHost)
+          .put("port", Integer.parseInt(System.getenv().getOrDefault("DB_REPLICA_PORT", "3306")))
+          .put("poolSize", Integer.parseInt(System.getenv().getOrDefault("DB_REPLICA_POOL_SIZE", "10")))
+          .put("maxLagSeconds", Long.parseLong(System.getenv().getOrDefault("DB_REPLICA_MAX_LAG_SECONDS", "5"))));
+    }
 
     // 2. App Configuration
     JsonObject appConfig = new JsonObject()
         .put("http.port", 8888)
+        .put("http.prettyJson", Boolean.parseBoolean(System.getenv().getOrDefault("HTTP_PRETTY_JSON", "false")))
         .put("url", System.getenv().getOrDefault("APP_URL", "http://localhost:8888"))
         .put("verification.host", System.getenv().getOrDefault("VERIFICATION_HOST", "localhost"))
         .put("verification.port", Integer.parseInt(System.getenv().getOrDefault("VERIFICATION_PORT", "8080")))
-        .put("db", dbconfig);
+        .put("db", dbconfig)
+        .put("cache", new JsonObject()
+            .put("ttlMs", Long.parseLong(System.getenv().getOrDefault("EMPLOYEE_CACHE_TTL_MS", "5000")))
+            .put("maxLists", Integer.parseInt(System.getenv().getOrDefault("EMPLOYEE_CACHE_MAX_LISTS", "256")))
+            .put("maxRecords",
+                Integer.parseInt(System.getenv().getOrDefault("EMPLOYEE_CACHE_MAX_RECORDS", "10000"))))
+        .put("changes", new JsonObject()
+            .put("historySize", Integer.parseInt(System.getenv().getOrDefault("CHANGE_FEED_HISTORY_SIZE", "10000")))
+            .put("subscriberBuffer",
+                Integer.parseInt(System.getenv().getOrDefault("CHANGE_FEED_SUBSCRIBER_BUFFER", "1000"))))
+        .put("snapshot", new JsonObject()
+            .put("reloadIntervalMs",
+                Long.parseLong(System.getenv().getOrDefault("EMPLOYEE_SNAPSHOT_RELOAD_MS", "300000"))))
+        .put("import", new JsonObject()
+            .put("chunkSize", Integer.parseInt(System.getenv().getOrDefault("IMPORT_CHUNK_SIZE", "500")))
+            .put("maxBytes", Long.parseLong(System.getenv().getOrDefault("IMPORT_MAX_BYTES", "104857600"))));
 
     DeploymentOptions dbOptions = new DeploymentOptions().setConfig(appConfig);
 
@@ -109,11 +157,24 @@ public class MainVerticle extends AbstractVerticle {
     appConfig.put("rsa_public_key", publicKey);
 
     // 4. Deployment Sequence
-    Future<String> deployEmployee = vertx.deployVerticle(EmployeeVerticle.class.getName(), dbOptions);
-    Future<String> deployUser = vertx.deployVerticle(UserVerticle.class.getName(), dbOptions);
-    Future<String> deployAuth = vertx.deployVerticle(AuthVerticle.class.getName(), authOptions);
-
-    Future.all(deployEmployee, deployUser, deployAuth)
+    // Employee DTOs travel the Event Bus by reference instead of as JSON copies
+    EmployeeCodec.registerAll(vertx.eventBus());
+
+    // 4.1 Schema first: the data verticles expect the current tables and keys
+    Future<Void> migrate = dbconfig.getJsonObject("migrations").getBoolean("enabled")
+        ? new MigrationRunner(vertx, dbconfig).migrate()
+        : Future.succeededFuture();
+
+    migrate
+        .compose(v -> {
+          Future<String> deployEmployee = vertx.deployVerticle(EmployeeVerticle.class.getName(), dbOptions);
+          Future<String> deployUser = vertx.deployVerticle(UserVerticle.class.getName(), dbOptions);
+          Future<String> deployAuth = vertx.deployVerticle(AuthVerticle.class.getName(), authOptions);
+          // Bulk imports run on a worker so long jobs stay off the event loops
+          Future<String> deployImport = vertx.deployVerticle(ImportVerticle.class.getName(),
+              new DeploymentOptions().setConfig(appConfig).setThreadingModel(ThreadingModel.WORKER));
+          return Future.all(deployEmployee, deployUser, deployAuth, deployImport);
+        })
         .compose(id -> {
           // 5. Deploy HttpVerticle
           // Scaling to multiple instances (1 per core)
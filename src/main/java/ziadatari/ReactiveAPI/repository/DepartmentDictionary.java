@@ -0,0 +1,210 @@
+package ziadatari.ReactiveAPI.repository;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
+import ziadatari.ReactiveAPI.dto.EmployeeField;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process copy of the {@code departments} table, which maps each distinct
+ * department name to a {@code SMALLINT} ID.
+ * <p>
+ * Employee rows store only {@code department_id}. The repository encodes names
+ * to IDs before writes and filters, and decodes IDs back to names when rows
+ * are read, so the rest of the application keeps working with names. Every
+ * decoded name is the dictionary's own instance, so all DTOs and cached
+ * responses of a department share one string.
+ * </p>
+ * <p>
+ * Name lookups follow the table's collation: a spelling that differs only in
+ * case resolves to the existing department and is remembered as an alias.
+ * Unknown names and IDs are looked up on the primary, since another instance
+ * may have created the department; only the dictionary's own misses reach the
+ * database, and there are a few dozen departments at most.
+ * </p>
+ * <p>
+ * <b>Threading:</b> confined to the {@code EmployeeVerticle} event loop, like
+ * the repository that owns it.
+ * </p>
+ */
+final class DepartmentDictionary {
+
+  private final Pool pool;
+  /** IDs by every spelling resolved so far, canonical or alias. */
+  private final Map<String, Integer> idsByName = new HashMap<>();
+  /** Canonical names by ID; null where the ID is not known yet. */
+  private String[] namesById = new String[64];
+  private Future<Void> reloading;
+
+  /**
+   * Constructs a DepartmentDictionary.
+   *
+   * @param pool a pool on the primary
+   */
+  DepartmentDictionary(Pool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Decodes a department ID.
+   *
+   * @param id the ID, or null
+   * @return the canonical name, or null if {@code id} is null or unknown (see
+   *         {@link #covering(RowSet)})
+   */
+  String name(Integer id) {
+    return id == null || id >= namesById.length ? null : namesById[id];
+  }
+
+  /**
+   * Makes sure every department ID in a result can be decoded, reloading the
+   * dictionary if one is missing.
+   *
+   * @param rows rows selected with the {@code department_id} column, or without
+   *             it (nothing to decode)
+   * @return a Future that completes once the rows can be decoded
+   */
+  Future<Void> covering(RowSet<Row> rows) {
+    if (rows.columnsNames() == null || !rows.columnsNames().contains(EmployeeField.DEPARTMENT.getColumn())) {
+      return Future.succeededFuture();
+    }
+    for (Row row : rows) {
+      Integer id = row.getInteger(EmployeeField.DEPARTMENT.getColumn());
+      if (id != null && name(id) == null) {
+        return reload();
+      }
+    }
+    return Future.succeededFuture();
+  }
+
+  /**
+   * Resolves a department name for a lookup or filter, without creating it.
+   *
+   * @param name the department name
+   * @return a Future containing the ID, or null if there is no such department
+   */
+  Future<Integer> find(String name) {
+    if (name == null) {
+      return Future.succeededFuture(null);
+    }
+    Integer cached = idsByName.get(name);
+    if (cached != null) {
+      return Future.succeededFuture(cached);
+    }
+    return pool.preparedQuery("SELECT id, name FROM departments WHERE name = ?")
+        .execute(Tuple.of(name))
+        .map(rows -> {
+          if (rows.size() == 0) {
+            return null;
+          }
+          Row row = rows.iterator().next();
+          int id = register(row.getInteger("id"), row.getString("name"));
+          idsByName.put(name, id);
+          return id;
+        });
+  }
+
+  /**
+   * Resolves a department name for a write, creating the department on first
+   * use.
+   *
+   * @param name the department name
+   * @return a Future containing the ID, or null if {@code name} is null
+   */
+  Future<Integer> idFor(String name) {
+    return find(name).compose(id -> {
+      if (id != null || name == null) {
+        return Future.succeededFuture(id);
+      }
+      // If another instance creates it concurrently, the unique key turns
+      // this insert into a no-op and the lookup finds that instance's row
+      return pool.preparedQuery("INSERT INTO departments (name) VALUES (?) ON DUPLICATE KEY UPDATE name = name")
+          .execute(Tuple.of(name))
+          .compose(rows -> find(name));
+    });
+  }
+
+  /**
+   * Resolves the department names of a batch for a write, creating the
+   * missing departments one after the other.
+   *
+   * @param names the department names, with repeats
+   * @return a Future containing the ID of every distinct non-null name
+   */
+  Future<Map<String, Integer>> idsFor(Collection<String> names) {
+    Map<String, Integer> ids = new HashMap<>();
+    Future<Void> chain = Future.succeededFuture();
+    for (String name : new LinkedHashSet<>(names)) {
+      if (name != null) {
+        chain = chain.compose(v -> idFor(name).map(id -> {
+          ids.put(name, id);
+          return null;
+        }));
+      }
+    }
+    return chain.map(ids);
+  }
+
+  /**
+   * Resolves the department names of a lookup, without creating any.
+   *
+   * @param names the department names, with repeats
+   * @return a Future containing the ID of every distinct name that exists
+   */
+  Future<Map<String, Integer>> findAll(Collection<String> names) {
+    Map<String, Integer> ids = new HashMap<>();
+    List<Future<Void>> lookups = new ArrayList<>();
+    for (String name : new LinkedHashSet<>(names)) {
+      lookups.add(find(name).map(id -> {
+        if (id != null) {
+          ids.put(name, id);
+        }
+        return null;
+      }));
+    }
+    return Future.all(lookups).map(ids);
+  }
+
+  /**
+   * Reloads the whole table. Concurrent callers share one query.
+   */
+  private Future<Void> reload() {
+    if (reloading == null) {
+      reloading = pool.query("SELECT id, name FROM departments").execute()
+          .<Void>map(rows -> {
+            for (Row row : rows) {
+              register(row.getInteger("id"), row.getString("name"));
+            }
+            return null;
+          })
+          .onComplete(ar -> reloading = null);
+    }
+    return reloading;
+  }
+
+  /**
+   * Records a department under its canonical name.
+   *
+   * @return the ID
+   */
+  private int register(int id, String name) {
+    if (id >= namesById.length) {
+      namesById = Arrays.copyOf(namesById, Math.max(id + 1, namesById.length * 2));
+    }
+    if (namesById[id] == null) {
+      namesById[id] = name;
+      idsByName.put(name, id);
+    }
+    return id;
+  }
+}
@@ -0,0 +1,122 @@
+package ziadatari.ReactiveAPI.repository;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import ziadatari.ReactiveAPI.dto.EmployeeField;
+
+import java.util.Set;
+
+/**
+ * Serializes employee rows straight into RFC 4180 CSV records.
+ * <p>
+ * The CSV counterpart of {@link EmployeeJsonWriter}: values are read by column
+ * position, nulls become empty fields, and text is quoted only when it
+ * contains a delimiter, a quote or a line break.
+ * </p>
+ * <p>
+ * Names and departments are user input and the file is meant to be opened in
+ * spreadsheets and analytics tools, which run a cell starting with {@code =},
+ * {@code +}, {@code -} or {@code @} (or a tab or carriage return) as a
+ * formula. Such text gets a leading {@code '}, so it is shown as text instead.
+ * </p>
+ */
+final class EmployeeCsvWriter {
+
+  private static final String LINE_END = "\r\n";
+  /** Estimated encoded size of one employee, used to pre-size buffers. */
+  private static final int ESTIMATED_ROW_BYTES = 128;
+  /** Leading characters that make spreadsheets evaluate a cell. */
+  private static final String FORMULA_TRIGGERS = "=+-@\t\r";
+
+  private EmployeeCsvWriter() {
+  }
+
+  /**
+   * Builds the header record: the JSON names of the fields, in column order.
+   *
+   * @param fields the fieldset
+   * @return the header line, terminated by CRLF
+   */
+  static Buffer writeHeader(Set<EmployeeField> fields) {
+    StringBuilder line = new StringBuilder();
+    for (EmployeeField field : fields) {
+      if (line.length() > 0) {
+        line.append(',');
+      }
+      line.append(field.getJsonName());
+    }
+    return Buffer.buffer(line.append(LINE_END).toString());
+  }
+
+  /**
+   * Serializes rows as CSV records, one per line.
+   *
+   * @param rows        the rows, selected with the columns of {@code fields}
+   * @param fields      the fieldset the rows were selected with
+   * @param departments decodes the department column, which must already cover
+   *                    the rows
+   * @return the encoded records (empty if there are no rows)
+   */
+  static Buffer writeRecords(RowSet<Row> rows, Set<EmployeeField> fields, DepartmentDictionary departments) {
+    StringBuilder out = new StringBuilder(rows.size() * ESTIMATED_ROW_BYTES);
+    for (Row row : rows) {
+      int column = 0;
+      for (EmployeeField field : fields) {
+        if (column > 0) {
+          out.append(',');
+        }
+        Object value = row.getValue(column);
+        if (value != null) {
+          switch (field) {
+            case SALARY:
+              out.append(row.getDouble(column));
+              break;
+            case ACTIVE:
+              out.append(row.getBoolean(column));
+              break;
+            case ID:
+              appendText(out, EmployeeIds.read(row, column));
+              break;
+            case LAST_MODIFIED_AT:
+              appendText(out, Timestamps.read(row, column));
+              break;
+            case DEPARTMENT:
+              appendText(out, departments.name(row.getInteger(column)));
+              break;
+            default:
+              appendText(out, row.getString(column));
+              break;
+          }
+        }
+        column++;
+      }
+      out.append(LINE_END);
+    }
+    return Buffer.buffer(out.toString());
+  }
+
+  private static void appendText(StringBuilder out, String value) {
+    if (!value.isEmpty() && FORMULA_TRIGGERS.indexOf(value.charAt(0)) >= 0) {
+      value = "'" + value;
+    }
+    boolean quote = false;
+    for (int i = 0; i < value.length() && !quote; i++) {
+      char c = value.charAt(i);
+      quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+    }
+    if (!quote) {
+      out.append(value);
+      return;
+    }
+    out.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        out.append('"');
+      }
+      out.append(c);
+    }
+    out.append('"');
+  }
+}
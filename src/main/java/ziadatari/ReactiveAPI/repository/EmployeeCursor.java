@@ -0,0 +1,76 @@
+package ziadatari.ReactiveAPI.repository;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.sqlclient.Cursor;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnection;
+
+import java.util.function.Function;
+
+/**
+ * Pull-based wrapper around a MySQL server-side cursor.
+ * <p>
+ * Rows are only fetched when the consumer asks for the next chunk, which gives
+ * natural backpressure: a slow HTTP client simply stops asking, and the rows
+ * stay in the database instead of piling up in the heap.
+ * </p>
+ * <p>
+ * Each chunk is serialized straight from the rows into JSON.
+ * </p>
+ */
+public class EmployeeCursor {
+
+  private final SqlConnection connection;
+  private final Cursor cursor;
+  private final Function<RowSet<Row>, Future<Buffer>> mapper;
+  private boolean closed;
+
+  /**
+   * Constructs an EmployeeCursor.
+   *
+   * @param connection the dedicated connection backing the cursor
+   * @param cursor     the opened SQL cursor
+   * @param mapper     serializes each fetched RowSet
+   */
+  EmployeeCursor(SqlConnection connection, Cursor cursor, Function<RowSet<Row>, Future<Buffer>> mapper) {
+    this.connection = connection;
+    this.cursor = cursor;
+    this.mapper = mapper;
+  }
+
+  /**
+   * Fetches the next chunk of rows from the cursor.
+   *
+   * @param count the maximum number of rows to fetch
+   * @return a Future containing the fetched rows as comma-separated JSON
+   *         objects (empty once exhausted)
+   */
+  public Future<Buffer> read(int count) {
+    return cursor.read(count).compose(mapper);
+  }
+
+  /**
+   * Indicates whether the cursor still has rows to deliver.
+   *
+   * @return true if more rows can be read
+   */
+  public boolean hasMore() {
+    return !closed && cursor.hasMore();
+  }
+
+  /**
+   * Closes the cursor and returns its connection to the pool.
+   * Safe to call more than once.
+   *
+   * @return a Future that completes when the connection is released
+   */
+  public Future<Void> close() {
+    if (closed) {
+      return Future.succeededFuture();
+    }
+    closed = true;
+    return cursor.close().eventually(() -> connection.close());
+  }
+}
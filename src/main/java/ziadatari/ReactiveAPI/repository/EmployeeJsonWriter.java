@@ -0,0 +1,189 @@
+package ziadatari.ReactiveAPI.repository;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import ziadatari.ReactiveAPI.dto.EmployeeField;
+import ziadatari.ReactiveAPI.dto.EncodedEmployeeList;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Set;
+
+/**
+ * Serializes employee rows straight into a JSON {@link Buffer} with Jackson's
+ * streaming generator.
+ * <p>
+ * Used by read-only list paths instead of mapping every row to an EmployeeDTO,
+ * then a JsonObject, then a String. Property names are pre-encoded, and
+ * values are read by column position, which matches the order in which the
+ * repository selects the fieldset's columns.
+ * </p>
+ */
+final class EmployeeJsonWriter {
+
+  private static final JsonFactory FACTORY = new JsonFactory();
+  /** Estimated encoded size of one employee, used to pre-size buffers. */
+  private static final int ESTIMATED_ROW_BYTES = 192;
+
+  private static final SerializedString NEWLINE = new SerializedString("\n");
+
+  private static final SerializedString[] NAMES = new SerializedString[EmployeeField.values().length];
+
+  static {
+    for (EmployeeField field : EmployeeField.values()) {
+      NAMES[field.ordinal()] = new SerializedString(field.getJsonName());
+    }
+  }
+
+  private EmployeeJsonWriter() {
+  }
+
+  /**
+   * Serializes rows as a JSON array.
+   *
+   * @param rows        the rows, selected with the columns of {@code fields}
+   * @param fields      the fieldset the rows were selected with
+   * @param departments decodes the department column, which must already cover
+   *                    the rows
+   * @return the encoded list
+   */
+  static EncodedEmployeeList writeArray(RowSet<Row> rows, Set<EmployeeField> fields, DepartmentDictionary departments) {
+    Buffer buffer = Buffer.buffer(2 + rows.size() * ESTIMATED_ROW_BYTES);
+    Row last = null;
+    try (JsonGenerator generator = FACTORY.createGenerator(new BufferOutputStream(buffer))) {
+      generator.writeStartArray();
+      for (Row row : rows) {
+        writeObject(generator, row, fields, departments);
+        last = row;
+      }
+      generator.writeEndArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    String lastId = last != null && fields.contains(EmployeeField.ID)
+        ? EmployeeIds.fromColumn(last.getBuffer(EmployeeField.ID.getColumn()))
+        : null;
+    String lastModifiedAt = last != null && fields.contains(EmployeeField.LAST_MODIFIED_AT)
+        ? Timestamps.fromColumn(last.getLocalDateTime(EmployeeField.LAST_MODIFIED_AT.getColumn()))
+        : null;
+    return new EncodedEmployeeList(buffer, rows.size(), lastId, lastModifiedAt);
+  }
+
+  /**
+   * Serializes rows as comma-separated JSON objects without the enclosing
+   * brackets, so consecutive chunks can be concatenated into one array.
+   *
+   * @param rows        the rows, selected with the columns of {@code fields}
+   * @param fields      the fieldset the rows were selected with
+   * @param departments decodes the department column, which must already cover
+   *                    the rows
+   * @return the encoded elements (empty if there are no rows)
+   */
+  static Buffer writeElements(RowSet<Row> rows, Set<EmployeeField> fields, DepartmentDictionary departments) {
+    Buffer buffer = Buffer.buffer(rows.size() * ESTIMATED_ROW_BYTES);
+    try (JsonGenerator generator = FACTORY.createGenerator(new BufferOutputStream(buffer))) {
+      generator.setRootValueSeparator(new SerializedString(","));
+      for (Row row : rows) {
+        writeObject(generator, row, fields, departments);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return buffer;
+  }
+
+  /**
+   * Serializes rows as newline-delimited JSON: one object per line, each line
+   * terminated by a newline, so consecutive chunks can be concatenated as is.
+   *
+   * @param rows        the rows, selected with the columns of {@code fields}
+   * @param fields      the fieldset the rows were selected with
+   * @param departments decodes the department column, which must already cover
+   *                    the rows
+   * @return the encoded lines (empty if there are no rows)
+   */
+  static Buffer writeLines(RowSet<Row> rows, Set<EmployeeField> fields, DepartmentDictionary departments) {
+    Buffer buffer = Buffer.buffer(rows.size() * ESTIMATED_ROW_BYTES);
+    try (JsonGenerator generator = FACTORY.createGenerator(new BufferOutputStream(buffer))) {
+      generator.setRootValueSeparator(NEWLINE);
+      for (Row row : rows) {
+        writeObject(generator, row, fields, departments);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    // The generator only writes separators between values
+    if (rows.size() > 0) {
+      buffer.appendByte((byte) '\n');
+    }
+    return buffer;
+  }
+
+  private static void writeObject(JsonGenerator generator, Row row, Set<EmployeeField> fields,
+      DepartmentDictionary departments) throws IOException {
+    generator.writeStartObject();
+    int column = 0;
+    for (EmployeeField field : fields) {
+      generator.writeFieldName(NAMES[field.ordinal()]);
+      switch (field) {
+        case SALARY:
+          Double salary = row.getDouble(column);
+          if (salary == null) {
+            generator.writeNull();
+          } else {
+            generator.writeNumber(salary);
+          }
+          break;
+        case ACTIVE:
+          Boolean active = row.getBoolean(column);
+          if (active == null) {
+            generator.writeNull();
+          } else {
+            generator.writeBoolean(active);
+          }
+          break;
+        case ID:
+          generator.writeString(EmployeeIds.read(row, column));
+          break;
+        case LAST_MODIFIED_AT:
+          generator.writeString(Timestamps.read(row, column));
+          break;
+        case DEPARTMENT:
+          generator.writeString(departments.name(row.getInteger(column)));
+          break;
+        default:
+          generator.writeString(row.getString(column));
+          break;
+      }
+      column++;
+    }
+    generator.writeEndObject();
+  }
+
+  /**
+   * Adapts a Vert.x Buffer to the OutputStream expected by Jackson.
+   */
+  private static final class BufferOutputStream extends OutputStream {
+    private final Buffer buffer;
+
+    private BufferOutputStream(Buffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public void write(int b) {
+      buffer.appendByte((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      buffer.appendBytes(b, off, len);
+    }
+  }
+}
@@ -1,23 +1,86 @@
 package ziadatari.ReactiveAPI.repository;
 
 import ziadatari.ReactiveAPI.dto.EmployeeDTO;
+import ziadatari.ReactiveAPI.dto.EmployeeField;
+import ziadatari.ReactiveAPI.dto.EmployeeQueryDTO;
+import ziadatari.ReactiveAPI.dto.EncodedEmployeeList;
+import ziadatari.ReactiveAPI.dto.ExportFormat;
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.mysqlclient.MySQLException;
 import io.vertx.sqlclient.Pool;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnection;
 import io.vertx.sqlclient.Tuple;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Handles all direct database interactions for Employee records.
  * Uses the Vert.x MySQL client for non-blocking SQL operations.
+ * <p>
+ * Writes, and the lookups that decide a write, use the write pool. Read
+ * endpoints use a separate read pool so a burst of list calls cannot starve
+ * writes of connections. When a read replica is configured, reads go to it
+ * and fall back to the primary's read pool if it fails or lags.
+ * </p>
  */
 public class EmployeeRepository {
 
+  private static final String UPSERT_SQL = "INSERT INTO employees "
+      + "(id, name, department_id, salary, active, last_modified_by, last_modified_at) "
+      + "VALUES (?, ?, ?, ?, true, ?, ?) AS incoming "
+      + "ON DUPLICATE KEY UPDATE "
+      + "salary = IF(active, salary, incoming.salary), "
+      + "last_modified_by = IF(active, last_modified_by, incoming.last_modified_by), "
+      + "last_modified_at = IF(active, last_modified_at, incoming.last_modified_at), "
+      + "active = true";
+
+  /**
+   * Maps API sort field names to their columns; anything else is rejected.
+   * Departments sort by name, not by dictionary ID, unless a filter fixes the
+   * department (see {@link #buildQuerySql(EmployeeQueryDTO)}).
+   */
+  private static final Map<String, String> SORT_COLUMNS = Map.of(
+      "id", "id",
+      "name", "name",
+      "department", "department_id",
+      "salary", "salary",
+      "lastModifiedAt", "last_modified_at");
+
+  /** Explicit column list for full records (no {@code SELECT *}). */
+  private static final String ALL_COLUMNS = columnList(EmployeeField.ALL);
+
+  /** Columns needed to resolve (name, department) conflicts. */
+  private static final Set<EmployeeField> CONFLICT_FIELDS = Collections.unmodifiableSet(EnumSet.of(
+      EmployeeField.ID, EmployeeField.NAME, EmployeeField.DEPARTMENT, EmployeeField.ACTIVE));
+  private static final String CONFLICT_COLUMNS = columnList(CONFLICT_FIELDS);
+
+  /** Columns every delta sync row carries, whatever the requested fields. */
+  private static final Set<EmployeeField> CHANGE_FIELDS = Collections.unmodifiableSet(EnumSet.of(
+      EmployeeField.ID, EmployeeField.ACTIVE, EmployeeField.LAST_MODIFIED_AT));
+
+  /** Default of the delta sync settle window, see {@link #findChangedSince}. */
+  public static final long DEFAULT_CHANGES_SETTLE_MS = 5_000;
+
+  /** SQL text memoized per query shape (bounded by the number of shapes). */
+  private static final Map<String, String> SQL_BY_SHAPE = new ConcurrentHashMap<>();
+
   private final Pool client;
+  private final Pool readClient;
+  private final ReplicaRouter replicaRouter;
+  private final DepartmentDictionary departments;
+  private final long changesSettleMs;
 
   /**
    * Constructs an EmployeeRepository with a shared database connection pool.
@@ -25,7 +88,69 @@ public class EmployeeRepository {
    * @param client the database client pool
    */
   public EmployeeRepository(Pool client) {
+    this(client, client, null);
+  }
+
+  /**
+   * Constructs an EmployeeRepository with separate write and read pools.
+   *
+   * @param client        the write pool (primary)
+   * @param readClient    the read pool on the primary
+   * @param replicaRouter routes reads to a replica, or null if none is
+   *                      configured
+   */
+  public EmployeeRepository(Pool client, Pool readClient, ReplicaRouter replicaRouter) {
+    this(client, readClient, replicaRouter, DEFAULT_CHANGES_SETTLE_MS);
+  }
+
+  /**
+   * Constructs an EmployeeRepository with separate write and read pools.
+   *
+   * @param client          the write pool (primary)
+   * @param readClient      the read pool on the primary
+   * @param replicaRouter   routes reads to a replica, or null if none is
+   *                        configured
+   * @param changesSettleMs how long delta sync holds back recent rows, see
+   *                        {@link #findChangedSince}
+   */
+  public EmployeeRepository(Pool client, Pool readClient, ReplicaRouter replicaRouter, long changesSettleMs) {
     this.client = client;
+    this.readClient = readClient;
+    this.replicaRouter = replicaRouter;
+    this.changesSettleMs = changesSettleMs;
+    this.departments = new DepartmentDictionary(client);
+  }
+
+  /**
+   * Records that a write committed, so reads that must reflect it stay on the
+   * primary until the replica has caught up (see {@link ReplicaRouter}).
+   */
+  public void recordWrite() {
+    if (replicaRouter != null) {
+      replicaRouter.recordWrite();
+    }
+  }
+
+  /**
+   * Runs a read query on the replica when it is healthy, retrying once on the
+   * primary read pool if the replica fails (see
+   * {@link ReplicaRouter#readFailed(Throwable)}).
+   *
+   * @param query the query to run against the chosen pool
+   * @return a Future containing the query result
+   */
+  private <T> Future<T> read(Function<Pool, Future<T>> query) {
+    if (replicaRouter == null) {
+      return query.apply(readClient);
+    }
+    Pool pool = replicaRouter.readPool();
+    if (pool == readClient) {
+      return query.apply(readClient);
+    }
+    return query.apply(pool).recover(err -> {
+      replicaRouter.readFailed(err);
+      return query.apply(readClient);
+    });
   }
 
   /**
@@ -34,30 +159,476 @@ public class EmployeeRepository {
    * @return a Future containing a list of EmployeeDTOs
    */
   public Future<List<EmployeeDTO>> findAll() {
-    return client.query("SELECT * FROM employees WHERE active = true")
+    return read(pool -> pool.query("SELECT " + ALL_COLUMNS + " FROM employees WHERE active = true").execute())
+        .compose(rows -> decode(rows, this::mapRowSetToDTOs));
+  }
+
+  /**
+   * Retrieves all active employees, serialized straight from the rows into a
+   * JSON array (no EmployeeDTO or JsonObject per row).
+   *
+   * @return a Future containing the encoded list
+   */
+  public Future<EncodedEmployeeList> findAllAsJson() {
+    return read(pool -> pool.query("SELECT " + ALL_COLUMNS + " FROM employees WHERE active = true").execute())
+        .compose(rows -> decode(rows, r -> EmployeeJsonWriter.writeArray(r, EmployeeField.ALL, departments)));
+  }
+
+  /**
+   * Retrieves a projection of all active employees from the primary, in ID
+   * order.
+   * <p>
+   * Used to build in-process snapshots, which must not miss writes that a
+   * lagging replica has not applied yet.
+   * </p>
+   *
+   * @param fields the columns to read
+   * @return a Future containing a list of EmployeeDTOs with only the
+   *         projected properties set
+   */
+  public Future<List<EmployeeDTO>> findAllOnPrimary(Set<EmployeeField> fields) {
+    return readClient.query("SELECT " + columnList(fields) + " FROM employees WHERE active = true ORDER BY id")
         .execute()
-        .map(this::mapRowSetToDTOs);
+        .compose(rows -> decode(rows, r -> mapRowSetToDTOs(r, fields)));
   }
 
   /**
-   * Saves a new employee record to the database.
-   * Generates a unique UUID as the primary key.
+   * Retrieves a single active employee by primary key.
    *
-   * @param employee the employee data to save
-   * @return a Future that completes when the operation is done
+   * @param id the employee ID
+   * @return a Future containing the EmployeeDTO, or null if no active record
+   *         exists
    */
-  public Future<Void> save(EmployeeDTO employee) {
-    // Generate unique identifier (UUID v4) before persistence
-    String id = UUID.randomUUID().toString();
-    employee.setId(id);
+  public Future<EmployeeDTO> findById(String id) {
+    Buffer key = EmployeeIds.toColumn(id);
+    if (key == null) {
+      return Future.succeededFuture(null);
+    }
+    return read(pool -> pool.preparedQuery("SELECT " + ALL_COLUMNS + " FROM employees WHERE id = ? AND active = true")
+        .execute(Tuple.of(key)))
+        .compose(rows -> decode(rows, r -> {
+          if (r.size() == 0)
+            return null;
+          return mapRowSetToDTOs(r).get(0);
+        }));
+  }
 
-    // Using prepared query for security (SQL injection prevention) and performance
-    // The Tuple protects against malicious input in 'name' or 'department'
-    return client.preparedQuery(
-        "INSERT INTO employees (id, name, department, salary, last_modified_by, last_modified_at) Values (?, ?, ?, ?, ?, ?)")
-        .execute(Tuple.of(employee.getId(), employee.getName(), employee.getDepartment(), employee.getSalary(),
-            employee.getLastModifiedBy(), employee.getLastModifiedAt()))
-        .mapEmpty();
+  /**
+   * Retrieves several active employees by primary key in one round trip.
+   * IDs without an active record are silently absent from the result.
+   *
+   * @param ids the employee IDs to resolve
+   * @return a Future containing the matching EmployeeDTOs, in no particular
+   *         order
+   */
+  public Future<List<EmployeeDTO>> findByIds(List<String> ids) {
+    List<Object> keys = new ArrayList<>(ids.size());
+    for (String id : ids) {
+      Buffer key = EmployeeIds.toColumn(id);
+      if (key != null) {
+        keys.add(key);
+      }
+    }
+    if (keys.isEmpty()) {
+      return Future.succeededFuture(Collections.emptyList());
+    }
+    String placeholders = keys.stream()
+        .map(id -> "?")
+        .collect(Collectors.joining(", "));
+    return read(pool -> pool
+        .preparedQuery("SELECT " + ALL_COLUMNS + " FROM employees WHERE active = true AND id IN (" + placeholders + ")")
+        .execute(Tuple.wrap(keys)))
+        .compose(rows -> decode(rows, this::mapRowSetToDTOs));
+  }
+
+  /**
+   * Retrieves active employees matching a filtered, sorted and/or paginated
+   * query.
+   * <p>
+   * Every filter becomes a bound parameter, never inlined SQL, and the
+   * statement text depends only on the query <i>shape</i> (which filters are
+   * present and the sort order), not on the values. The generated SQL is
+   * memoized per shape, so repeated shapes hit the pool's prepared statement
+   * cache instead of re-preparing on MySQL.
+   * </p>
+   * <p>
+   * Without an explicit sort, rows are ordered by ID, which makes
+   * {@code after} a keyset cursor over the primary key.
+   * </p>
+   * <p>
+   * Only the columns of the query's fieldset are selected, and the rows are
+   * serialized straight into a JSON array. A department filter is resolved
+   * to its dictionary ID first; an unknown department matches nothing.
+   * </p>
+   *
+   * @param query the query description (already validated by the service)
+   * @return a Future containing the matching employees, encoded
+   */
+  public Future<EncodedEmployeeList> findByQuery(EmployeeQueryDTO query) {
+    if (query.getDepartment() == null) {
+      return findByQuery(query, null);
+    }
+    return departments.find(query.getDepartment()).compose(departmentId -> departmentId == null
+        ? Future.succeededFuture(new EncodedEmployeeList(Buffer.buffer("[]"), 0, null))
+        : findByQuery(query, departmentId));
+  }
+
+  private Future<EncodedEmployeeList> findByQuery(EmployeeQueryDTO query, Integer departmentId) {
+    StringBuilder shape = new StringBuilder();
+    Tuple params = Tuple.tuple();
+    if (departmentId != null) {
+      shape.append('d');
+      params.addInteger(departmentId);
+    }
+    if (query.getMinSalary() != null) {
+      shape.append('n');
+      params.addDouble(query.getMinSalary());
+    }
+    if (query.getMaxSalary() != null) {
+      shape.append('x');
+      params.addDouble(query.getMaxSalary());
+    }
+    if (query.getAfter() != null) {
+      shape.append('a');
+      params.addBuffer(EmployeeIds.toColumn(query.getAfter()));
+    }
+    shape.append('|').append(String.join(",", query.getSort()))
+        .append('|').append(query.getFields())
+        .append('|');
+    if (query.getLimit() != null) {
+      shape.append('l');
+      params.addInteger(query.getLimit());
+    }
+
+    String sql = SQL_BY_SHAPE.computeIfAbsent(shape.toString(), key -> buildQuerySql(query));
+    return read(pool -> pool.preparedQuery(sql).execute(params))
+        .compose(rows -> decode(rows, r -> EmployeeJsonWriter.writeArray(r, query.getFields(), departments)));
+  }
+
+  /**
+   * Builds the SQL text for a query shape. Placeholders are emitted in the same
+   * order as the parameters bound by
+   * {@link #findByQuery(EmployeeQueryDTO, Integer)}.
+   */
+  private static String buildQuerySql(EmployeeQueryDTO query) {
+    // With a department filter every row has the same department, so sorting
+    // by its ID keeps the (department_id, salary) index usable. Otherwise the
+    // names come from a join, and the employee columns must be qualified.
+    boolean sortByName = query.getDepartment() == null && query.getSort().stream()
+        .anyMatch(key -> key.equals("department") || key.equals("-department"));
+    String e = sortByName ? "e." : "";
+
+    StringBuilder sql = new StringBuilder("SELECT ");
+    if (sortByName) {
+      sql.append(query.getFields().stream()
+          .map(field -> e + field.getColumn())
+          .collect(Collectors.joining(", ")))
+          .append(" FROM employees e JOIN departments d ON d.id = e.department_id");
+    } else {
+      sql.append(columnList(query.getFields())).append(" FROM employees");
+    }
+    sql.append(" WHERE ").append(e).append("active = true");
+    if (query.getDepartment() != null) {
+      sql.append(" AND department_id = ?");
+    }
+    if (query.getMinSalary() != null) {
+      sql.append(" AND ").append(e).append("salary >= ?");
+    }
+    if (query.getMaxSalary() != null) {
+      sql.append(" AND ").append(e).append("salary <= ?");
+    }
+    if (query.getAfter() != null) {
+      sql.append(" AND ").append(e).append("id > ?");
+    }
+
+    sql.append(" ORDER BY ");
+    boolean orderedById = false;
+    for (String key : query.getSort()) {
+      boolean descending = key.startsWith("-");
+      String field = descending ? key.substring(1) : key;
+      String column = SORT_COLUMNS.get(field);
+      sql.append(sortByName && field.equals("department") ? "d.name" : e + column)
+          .append(descending ? " DESC" : " ASC").append(", ");
+      orderedById |= column.equals("id");
+    }
+    // ID as final tie-breaker keeps results (and cached pages) deterministic
+    if (!orderedById) {
+      sql.append(e).append("id ASC");
+    } else {
+      sql.setLength(sql.length() - 2);
+    }
+
+    if (query.getLimit() != null) {
+      sql.append(" LIMIT ?");
+    }
+    return sql.toString();
+  }
+
+  /**
+   * Finds the employees modified after a point in time, soft-deleted ones
+   * included, ordered by modification time then ID.
+   * <p>
+   * {@code (since, afterId)} is a keyset cursor over
+   * {@code (last_modified_at, id)}: a row modified exactly at {@code since} is
+   * returned only if its ID is greater than {@code afterId}, so pages never
+   * skip or repeat rows that share a timestamp. Soft-deleted rows come back
+   * with {@code active = false} and act as tombstones.
+   * </p>
+   * <p>
+   * The query reads the primary, since a lagging replica would make a client
+   * move its cursor past rows it has not seen yet. For the same reason, rows
+   * modified within the settle window (by the database clock) are held back
+   * until it has passed: {@code last_modified_at} is taken before the write,
+   * so a row can commit after one with a later timestamp. Every row older
+   * than the window is final, as long as no write takes longer than the
+   * window to commit and instance clocks stay within it of the database.
+   * </p>
+   *
+   * @param since   the exclusive lower bound (ISO-8601)
+   * @param afterId the ID tie-breaker for rows modified at {@code since}, or
+   *                null to skip every such row
+   * @param limit   the maximum number of rows
+   * @param fields  the projection; ID, active flag and modification time are
+   *                always added
+   * @return a Future containing the changed employees, encoded
+   */
+  public Future<EncodedEmployeeList> findChangedSince(String since, String afterId, int limit,
+      Set<EmployeeField> fields) {
+    Set<EmployeeField> selected = EnumSet.copyOf(fields);
+    selected.addAll(CHANGE_FIELDS);
+    LocalDateTime from = Timestamps.toColumn(since);
+    Tuple params = Tuple.of(from);
+    StringBuilder sql = new StringBuilder("SELECT ").append(columnList(selected))
+        .append(" FROM employees WHERE (last_modified_at > ?");
+    if (afterId != null) {
+      sql.append(" OR (last_modified_at = ? AND id > ?)");
+      params.addLocalDateTime(from).addBuffer(EmployeeIds.toColumn(afterId));
+    }
+    sql.append(") AND last_modified_at <= UTC_TIMESTAMP(6) - INTERVAL ? MICROSECOND")
+        .append(" ORDER BY last_modified_at, id LIMIT ?");
+    params.addLong(changesSettleMs * 1000).addInteger(limit);
+    return readClient.preparedQuery(sql.toString())
+        .execute(params)
+        .compose(rows -> decode(rows, r -> EmployeeJsonWriter.writeArray(r, selected, departments)));
+  }
+
+  /**
+   * Maps a result once the department dictionary can decode every row of it.
+   *
+   * @param rows   the rows
+   * @param mapper builds the result from the rows
+   * @return a Future containing the mapped result
+   */
+  private <T> Future<T> decode(RowSet<Row> rows, Function<RowSet<Row>, T> mapper) {
+    return departments.covering(rows).map(v -> mapper.apply(rows));
+  }
+
+  /**
+   * Builds the SELECT column list for a fieldset, e.g. {@code id, name}.
+   *
+   * @param fields the projection
+   * @return the comma-separated column names
+   */
+  private static String columnList(Set<EmployeeField> fields) {
+    return fields.stream()
+        .map(EmployeeField::getColumn)
+        .collect(Collectors.joining(", "));
+  }
+
+  /**
+   * Opens a server-side cursor over all active employees, ordered by ID.
+   * <p>
+   * The cursor holds a dedicated connection until it is closed, and rows are
+   * only fetched from MySQL when {@link EmployeeCursor#read(int)} is called.
+   * Callers MUST close the cursor to release the connection.
+   * </p>
+   *
+   * @param fields the columns to read for each row
+   * @return a Future containing the opened cursor
+   */
+  public Future<EmployeeCursor> openCursor(Set<EmployeeField> fields) {
+    String sql = "SELECT " + columnList(fields) + " FROM employees WHERE active = true ORDER BY id";
+    return openCursor(sql, rows -> decode(rows, r -> EmployeeJsonWriter.writeElements(r, fields, departments)));
+  }
+
+  /**
+   * Opens a server-side cursor for a full-table export, ordered by ID.
+   * <p>
+   * Same contract as {@link #openCursor(Set)}, but each chunk is encoded in
+   * the export format: NDJSON lines, or CSV records with the header row
+   * prepended to the first chunk. Inactive employees are included on request.
+   * </p>
+   *
+   * @param fields          the columns to read for each row
+   * @param includeInactive whether soft-deleted employees are exported too
+   * @param format          the encoding of each chunk
+   * @return a Future containing the opened cursor
+   */
+  public Future<EmployeeCursor> openExportCursor(Set<EmployeeField> fields, boolean includeInactive,
+      ExportFormat format) {
+    String sql = "SELECT " + columnList(fields) + " FROM employees"
+        + (includeInactive ? "" : " WHERE active = true") + " ORDER BY id";
+    Function<RowSet<Row>, Future<Buffer>> mapper;
+    if (format == ExportFormat.CSV) {
+      boolean[] headerWritten = { false };
+      mapper = rows -> decode(rows, r -> {
+        Buffer records = EmployeeCsvWriter.writeRecords(r, fields, departments);
+        if (headerWritten[0]) {
+          return records;
+        }
+        headerWritten[0] = true;
+        return EmployeeCsvWriter.writeHeader(fields).appendBuffer(records);
+      });
+    } else {
+      mapper = rows -> decode(rows, r -> EmployeeJsonWriter.writeLines(r, fields, departments));
+    }
+    return openCursor(sql, mapper);
+  }
+
+  private Future<EmployeeCursor> openCursor(String sql, Function<RowSet<Row>, Future<Buffer>> mapper) {
+    return read(pool -> pool.getConnection()
+        .compose(conn -> conn.prepare(sql)
+            .map(statement -> new EmployeeCursor(conn, statement.cursor(), mapper))
+            .onFailure(err -> conn.close())));
+  }
+
+  /**
+   * Creates an employee, or reactivates the soft-deleted record with the same
+   * name and department, in a single atomic statement.
+   * <p>
+   * Relies on the {@code (name, department)} unique key and MySQL's
+   * affected-row count (the pool is opened with {@code useAffectedRows}):
+   * <ul>
+   * <li>1: the row was inserted ({@link UpsertOutcome#CREATED})</li>
+   * <li>2: an inactive row was reactivated ({@link UpsertOutcome#REACTIVATED})</li>
+   * <li>0: an active row already exists and was left untouched
+   * ({@link UpsertOutcome#DUPLICATE})</li>
+   * </ul>
+   * A generated UUIDv7 is assigned to the DTO; on reactivation it is replaced by
+   * the ID of the existing record, looked up in the same transaction so that a
+   * reactivation never commits without it. The department is created in the
+   * dictionary on first use, and the DTO gets its canonical spelling.
+   * </p>
+   *
+   * @param employee the employee data to persist
+   * @return a Future containing the outcome of the statement
+   */
+  public Future<UpsertOutcome> upsert(EmployeeDTO employee) {
+    // Generate a time-ordered identifier (UUIDv7) before persistence
+    employee.setId(EmployeeIds.generate());
+
+    // Column assignments are evaluated left to right, so 'active' must be last:
+    // every IF() above it still sees the pre-existing value
+    return departments.idFor(employee.getDepartment())
+        .compose(departmentId -> {
+          employee.setDepartment(departments.name(departmentId));
+          return client.withTransaction(conn -> conn.preparedQuery(UPSERT_SQL)
+              .execute(upsertParams(employee, departmentId))
+              .compose(rows -> {
+                UpsertOutcome outcome = UpsertOutcome.fromAffectedRows(rows.rowCount());
+                if (outcome != UpsertOutcome.REACTIVATED) {
+                  return Future.succeededFuture(outcome);
+                }
+                // Rare path: recover the ID of the record that was brought back
+                return recoverReactivatedIds(conn, List.of(employee), List.of(departmentId)).map(outcome);
+              }));
+        });
+  }
+
+  /**
+   * Runs several upserts as one batched statement in a single transaction, so
+   * they share one commit (group commit).
+   * <p>
+   * Each statement of the batch reports its own affected-row count, so every
+   * employee gets the same outcome it would have had alone, including a
+   * {@link UpsertOutcome#DUPLICATE} for the second of two identical creates in
+   * the same batch. Reactivated employees get the ID of the existing record,
+   * looked up before the transaction commits.
+   * </p>
+   *
+   * @param employees the employees to persist
+   * @return a Future containing one outcome per employee, in order
+   */
+  public Future<List<UpsertOutcome>> upsertBatch(List<EmployeeDTO> employees) {
+    return departments.idsFor(departmentNames(employees))
+        .compose(departmentIds -> {
+          List<Tuple> batch = new ArrayList<>(employees.size());
+          List<Integer> rowDepartmentIds = new ArrayList<>(employees.size());
+          for (EmployeeDTO employee : employees) {
+            employee.setId(EmployeeIds.generate());
+            Integer departmentId = departmentIds.get(employee.getDepartment());
+            employee.setDepartment(departments.name(departmentId));
+            batch.add(upsertParams(employee, departmentId));
+            rowDepartmentIds.add(departmentId);
+          }
+          return client.withTransaction(conn -> conn.preparedQuery(UPSERT_SQL).executeBatch(batch)
+              .compose(rows -> {
+                List<UpsertOutcome> outcomes = new ArrayList<>(employees.size());
+                List<EmployeeDTO> reactivated = new ArrayList<>();
+                List<Integer> reactivatedDepartmentIds = new ArrayList<>();
+                for (RowSet<Row> result = rows; result != null; result = result.next()) {
+                  UpsertOutcome outcome = UpsertOutcome.fromAffectedRows(result.rowCount());
+                  if (outcome == UpsertOutcome.REACTIVATED) {
+                    reactivated.add(employees.get(outcomes.size()));
+                    reactivatedDepartmentIds.add(rowDepartmentIds.get(outcomes.size()));
+                  }
+                  outcomes.add(outcome);
+                }
+                if (reactivated.isEmpty()) {
+                  return Future.succeededFuture(outcomes);
+                }
+                return recoverReactivatedIds(conn, reactivated, reactivatedDepartmentIds).map(outcomes);
+              }));
+        });
+  }
+
+  private static Tuple upsertParams(EmployeeDTO employee, Integer departmentId) {
+    return Tuple.of(EmployeeIds.toColumn(employee.getId()), employee.getName(), departmentId,
+        employee.getSalary(), employee.getLastModifiedBy(), Timestamps.toColumn(employee.getLastModifiedAt()));
+  }
+
+  private static List<String> departmentNames(List<EmployeeDTO> employees) {
+    List<String> names = new ArrayList<>(employees.size());
+    for (EmployeeDTO employee : employees) {
+      names.add(employee.getDepartment());
+    }
+    return names;
+  }
+
+  /**
+   * Replaces the generated IDs of reactivated employees with the IDs of the
+   * existing records that were brought back.
+   * <p>
+   * Runs in the transaction that reactivated them, so the IDs are known
+   * before anything commits: if the lookup fails, the reactivations are
+   * rolled back with it instead of committing without an ID. Each lookup uses
+   * the unique key, with the database's own comparison of names.
+   * </p>
+   *
+   * @param conn          the connection of the open transaction
+   * @param employees     the reactivated employees
+   * @param departmentIds their department IDs, in the same order
+   * @return a Future that completes once every ID is set
+   */
+  private static Future<Void> recoverReactivatedIds(SqlConnection conn, List<EmployeeDTO> employees,
+      List<Integer> departmentIds) {
+    List<Tuple> lookups = new ArrayList<>(employees.size());
+    for (int i = 0; i < employees.size(); i++) {
+      lookups.add(Tuple.of(employees.get(i).getName(), departmentIds.get(i)));
+    }
+    return conn.preparedQuery("SELECT id FROM employees WHERE name = ? AND department_id = ?")
+        .executeBatch(lookups)
+        .compose(rows -> {
+          int i = 0;
+          for (RowSet<Row> result = rows; result != null; result = result.next(), i++) {
+            if (result.size() != 1) {
+              return Future.failedFuture(new IllegalStateException(
+                  "Reactivated employee not found: " + employees.get(i).getName()));
+            }
+            employees.get(i).setId(EmployeeIds.read(result.iterator().next(), 0));
+          }
+          return Future.succeededFuture();
+        });
   }
 
   /**
@@ -68,10 +639,18 @@ public class EmployeeRepository {
    * @return a Future containing true if a row was updated, false otherwise
    */
   public Future<Boolean> update(String id, EmployeeDTO employee) {
-    return client.preparedQuery(
-        "UPDATE employees SET name = ?, department = ?, salary = ?, last_modified_by = ?, last_modified_at = ? WHERE id = ?")
-        .execute(Tuple.of(employee.getName(), employee.getDepartment(), employee.getSalary(),
-            employee.getLastModifiedBy(), employee.getLastModifiedAt(), id))
+    Buffer key = EmployeeIds.toColumn(id);
+    if (key == null) {
+      return Future.succeededFuture(false);
+    }
+    return departments.idFor(employee.getDepartment())
+        .compose(departmentId -> {
+          employee.setDepartment(departments.name(departmentId));
+          return client.preparedQuery("UPDATE employees SET name = ?, department_id = ?, salary = ?, "
+              + "last_modified_by = ?, last_modified_at = ? WHERE id = ?")
+              .execute(Tuple.of(employee.getName(), departmentId, employee.getSalary(),
+                  employee.getLastModifiedBy(), Timestamps.toColumn(employee.getLastModifiedAt()), key));
+        })
         .map(rowSet -> rowSet.rowCount() > 0);
   }
 
@@ -84,42 +663,150 @@ public class EmployeeRepository {
    * @return a Future containing true if a row was updated, false otherwise
    */
   public Future<Boolean> delete(String id, String user, String timestamp) {
+    Buffer key = EmployeeIds.toColumn(id);
+    if (key == null) {
+      return Future.succeededFuture(false);
+    }
     return client
         .preparedQuery("UPDATE employees SET active = false, last_modified_by = ?, last_modified_at = ? WHERE id = ?")
-        .execute(Tuple.of(user, timestamp, id))
+        .execute(Tuple.of(user, Timestamps.toColumn(timestamp), key))
         .map(row -> row.rowCount() > 0);
   }
 
   /**
    * Finds an employee by name and department (used for duplicate checks).
+   * Only the columns needed for conflict resolution are read.
    *
    * @param name       the employee name
    * @param department the department name
    * @return a Future containing the EmployeeDTO if found, or null
    */
   public Future<EmployeeDTO> findByNameAndDepartment(String name, String department) {
-    return client.preparedQuery("SELECT * FROM employees WHERE name = ? AND department = ?")
-        .execute(Tuple.of(name, department))
-        .map(rows -> {
-          if (rows.size() == 0)
-            return null;
-          return mapRowSetToDTOs(rows).get(0);
-        });
+    return departments.find(department).compose(departmentId -> {
+      if (departmentId == null) {
+        return Future.succeededFuture(null);
+      }
+      return client.preparedQuery("SELECT " + CONFLICT_COLUMNS + " FROM employees WHERE name = ? AND department_id = ?")
+          .execute(Tuple.of(name, departmentId))
+          .compose(rows -> decode(rows, r -> {
+            if (r.size() == 0)
+              return null;
+            return mapRowSetToDTOs(r, CONFLICT_FIELDS).get(0);
+          }));
+    });
   }
 
   /**
-   * Reactivates a soft-deleted employee and updates their salary.
+   * Finds all employees matching any of the given (name, department) pairs in a
+   * single round trip. Used for batch duplicate checks.
    *
-   * @param id        the ID of the employee to reactivate
-   * @param newSalary the new salary to be set
-   * @return a Future that completes when the operation is done
+   * @param employees the employees whose name and department should be looked up
+   * @return a Future containing every matching record (active or not), with
+   *         only the conflict resolution columns populated
    */
-  public Future<Void> reactivate(String id, Double newSalary) {
-    return client.preparedQuery("UPDATE employees SET active = true, salary = ? WHERE id = ?")
-        .execute(Tuple.of(newSalary, id))
+  public Future<List<EmployeeDTO>> findByNameAndDepartmentPairs(List<EmployeeDTO> employees) {
+    if (employees.isEmpty()) {
+      return Future.succeededFuture(Collections.emptyList());
+    }
+    return departments.findAll(departmentNames(employees)).compose(departmentIds -> {
+      // Pairs in a department that does not exist yet cannot match anything
+      Tuple params = Tuple.tuple();
+      int pairs = 0;
+      for (EmployeeDTO employee : employees) {
+        Integer departmentId = departmentIds.get(employee.getDepartment());
+        if (departmentId != null) {
+          params.addString(employee.getName()).addInteger(departmentId);
+          pairs++;
+        }
+      }
+      if (pairs == 0) {
+        return Future.succeededFuture(Collections.<EmployeeDTO>emptyList());
+      }
+      String placeholders = String.join(", ", Collections.nCopies(pairs, "(?, ?)"));
+      return client
+          .preparedQuery(
+              "SELECT " + CONFLICT_COLUMNS + " FROM employees WHERE (name, department_id) IN (" + placeholders + ")")
+          .execute(params)
+          .compose(rows -> decode(rows, r -> mapRowSetToDTOs(r, CONFLICT_FIELDS)));
+    });
+  }
+
+  /**
+   * Inserts new employees and reactivates soft-deleted ones in a single
+   * transaction, using one batched statement for each kind of write.
+   * <p>
+   * New records are assigned a UUIDv7 before persistence. Reactivated records must
+   * already carry the ID of the existing row.
+   * </p>
+   *
+   * @param inserts       brand-new employees to insert
+   * @param reactivations soft-deleted employees to bring back with new data
+   * @return a Future that completes once the transaction is committed
+   */
+  public Future<Void> saveBatch(List<EmployeeDTO> inserts, List<EmployeeDTO> reactivations) {
+    // Departments are created outside the transaction: an unused one is harmless
+    return departments.idsFor(departmentNames(inserts))
+        .compose(departmentIds -> client.withTransaction(conn -> insertBatch(conn, inserts, departmentIds)
+            .compose(v -> reactivateBatch(conn, reactivations))));
+  }
+
+  private Future<Void> insertBatch(SqlConnection conn, List<EmployeeDTO> employees,
+      Map<String, Integer> departmentIds) {
+    if (employees.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    List<Tuple> batch = new ArrayList<>(employees.size());
+    for (EmployeeDTO employee : employees) {
+      employee.setId(EmployeeIds.generate());
+      Integer departmentId = departmentIds.get(employee.getDepartment());
+      employee.setDepartment(departments.name(departmentId));
+      batch.add(Tuple.of(EmployeeIds.toColumn(employee.getId()), employee.getName(), departmentId,
+          employee.getSalary(), employee.getLastModifiedBy(), Timestamps.toColumn(employee.getLastModifiedAt())));
+    }
+    return conn.preparedQuery("INSERT INTO employees "
+        + "(id, name, department_id, salary, last_modified_by, last_modified_at) Values (?, ?, ?, ?, ?, ?)")
+        .executeBatch(batch)
+        .mapEmpty();
+  }
+
+  private Future<Void> reactivateBatch(SqlConnection conn, List<EmployeeDTO> employees) {
+    if (employees.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    List<Tuple> batch = new ArrayList<>(employees.size());
+    for (EmployeeDTO employee : employees) {
+      batch.add(Tuple.of(employee.getSalary(), employee.getLastModifiedBy(),
+          Timestamps.toColumn(employee.getLastModifiedAt()), EmployeeIds.toColumn(employee.getId())));
+    }
+    // The audit columns move too, so delta sync sees the reactivation
+    return conn.preparedQuery(
+        "UPDATE employees SET active = true, salary = ?, last_modified_by = ?, last_modified_at = ? WHERE id = ?")
+        .executeBatch(batch)
         .mapEmpty();
   }
 
+  /**
+   * Checks whether a failure was caused by the {@code (name, department)}
+   * unique key (MySQL error 1062, ER_DUP_ENTRY).
+   *
+   * @param err the failure to inspect
+   * @return true if the failure is a duplicate key violation
+   */
+  public static boolean isDuplicateKey(Throwable err) {
+    return err instanceof MySQLException && ((MySQLException) err).getErrorCode() == 1062;
+  }
+
+  /**
+   * Checks whether a string is a well-formed employee ID (a UUID in canonical
+   * form). Malformed IDs cannot match any row.
+   *
+   * @param id the candidate ID
+   * @return true if the ID can be stored and looked up
+   */
+  public static boolean isValidId(String id) {
+    return EmployeeIds.toColumn(id) != null;
+  }
+
   /**
    * Helper method to map a SQL RowSet to a list of EmployeeDTO objects.
    *
@@ -127,18 +814,50 @@ public class EmployeeRepository {
    * @return a list of DTOs
    */
   private List<EmployeeDTO> mapRowSetToDTOs(RowSet<Row> rows) {
-    List<EmployeeDTO> result = new ArrayList<>();
+    return mapRowSetToDTOs(rows, EmployeeField.ALL);
+  }
+
+  /**
+   * Maps a SQL RowSet selected with a projection. Only the projected columns are
+   * read; the remaining properties stay null. The department dictionary must
+   * already cover the rows (see {@link #decode(RowSet, Function)}).
+   *
+   * @param rows   the RowSet containing database results
+   * @param fields the projection the rows were selected with
+   * @return a list of DTOs
+   */
+  private List<EmployeeDTO> mapRowSetToDTOs(RowSet<Row> rows, Set<EmployeeField> fields) {
+    List<EmployeeDTO> result = new ArrayList<>(rows.size());
     for (Row row : rows) {
-      result.add(new EmployeeDTO(
-          row.getString("id"),
-          row.getString("name"),
-          row.getString("department"),
-          row.getDouble("salary"),
-          row.getBoolean("active"),
-          row.getString("last_modified_by"),
-          row.getString("last_modified_at")));
+      EmployeeDTO dto = new EmployeeDTO();
+      dto.setActive(null);
+      for (EmployeeField field : fields) {
+        switch (field) {
+          case ID:
+            dto.setId(EmployeeIds.fromColumn(row.getBuffer("id")));
+            break;
+          case NAME:
+            dto.setName(row.getString("name"));
+            break;
+          case DEPARTMENT:
+            dto.setDepartment(departments.name(row.getInteger("department_id")));
+            break;
+          case SALARY:
+            dto.setSalary(row.getDouble("salary"));
+            break;
+          case ACTIVE:
+            dto.setActive(row.getBoolean("active"));
+            break;
+          case LAST_MODIFIED_BY:
+            dto.setLastModifiedBy(row.getString("last_modified_by"));
+            break;
+          case LAST_MODIFIED_AT:
+            dto.setLastModifiedAt(Timestamps.fromColumn(row.getLocalDateTime("last_modified_at")));
+            break;
+        }
+      }
+      result.add(dto);
     }
     return result;
   }
-
 }
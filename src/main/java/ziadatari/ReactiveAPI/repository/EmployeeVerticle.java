@@ -4,7 +4,10 @@ import io.vertx.circuitbreaker.CircuitBreaker;
 import io.vertx.circuitbreaker.CircuitBreakerOptions;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.mysqlclient.MySQLBuilder;
@@ -13,10 +16,26 @@ import io.vertx.sqlclient.Pool;
 import io.vertx.sqlclient.PoolOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ziadatari.ReactiveAPI.dto.BatchItemResult;
 import ziadatari.ReactiveAPI.dto.EmployeeDTO;
+import ziadatari.ReactiveAPI.dto.EmployeeField;
+import ziadatari.ReactiveAPI.dto.EmployeeListCodec;
+import ziadatari.ReactiveAPI.dto.EmployeeQueryDTO;
+import ziadatari.ReactiveAPI.dto.EncodedEmployeeList;
+import ziadatari.ReactiveAPI.dto.ExportFormat;
 import ziadatari.ReactiveAPI.exception.ErrorCode;
 import ziadatari.ReactiveAPI.exception.ServiceException;
+import ziadatari.ReactiveAPI.service.ChangeFeed;
+import ziadatari.ReactiveAPI.service.ConcurrencyLimiter;
+import ziadatari.ReactiveAPI.service.DataVersion;
 import ziadatari.ReactiveAPI.service.EmployeeService;
+import ziadatari.ReactiveAPI.service.EmployeeSnapshot;
+import ziadatari.ReactiveAPI.service.TtlCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Verticle responsible for managing Employee data and business logic
@@ -28,7 +47,14 @@ import ziadatari.ReactiveAPI.service.EmployeeService;
 public class EmployeeVerticle extends AbstractVerticle {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeVerticle.class);
+
+    /** Number of rows fetched from the cursor per stream chunk. */
+    private static final int STREAM_CHUNK_SIZE = 500;
+    /** Abandoned cursors are closed after this much inactivity. */
+    private static final long STREAM_IDLE_TIMEOUT_MS = 30_000;
+
     private EmployeeService service;
+    private ReplicaRouter replicaRouter;
 
     /**
      * Initializes the verticle by setting up the database connection pool,
@@ -43,19 +69,29 @@ public class EmployeeVerticle extends AbstractVerticle {
             JsonObject dbConfig = config().getJsonObject("db");
 
             // Database connection pool setup
-            MySQLConnectOptions connectOptions = new MySQLConnectOptions()
-                    .setHost(dbConfig.getString("host"))
-                    .setPort(dbConfig.getInteger("port"))
-                    .setDatabase(dbConfig.getString("database"))
-                    .setUser(dbConfig.getString("user"))
-                    .setPassword(dbConfig.getString("password"));
-
-            // Pool options: Max 10 concurrent connections
-            Pool dbPool = MySQLBuilder.pool()
-                    .with(new PoolOptions().setMaxSize(10))
-                    .connectingTo(connectOptions)
-                    .using(vertx)
-                    .build();
+            MySQLConnectOptions connectOptions = connectOptions(dbConfig, dbConfig.getString("host"),
+                    dbConfig.getInteger("port"));
+
+            // Writes and reads get separate pools so a burst of list calls cannot
+            // take every connection away from writes
+            Pool writePool = pool(connectOptions, dbConfig.getInteger("writePoolSize", 10));
+            Pool readPool = pool(connectOptions, dbConfig.getInteger("readPoolSize", 10));
+
+            // Optional read replica, with fallback to the primary's read pool
+            ReplicaRouter replicaRouter = null;
+            JsonObject replicaConfig = dbConfig.getJsonObject("replica");
+            if (replicaConfig != null) {
+                Pool replicaPool = pool(
+                        connectOptions(dbConfig, replicaConfig.getString("host"),
+                                replicaConfig.getInteger("port", 3306)),
+                        replicaConfig.getInteger("poolSize", 10));
+                replicaRouter = new ReplicaRouter(vertx, replicaPool, readPool,
+                        replicaConfig.getLong("maxLagSeconds", 5L));
+                replicaRouter.start(replicaConfig.getLong("probeIntervalMs", 1000L));
+                this.replicaRouter = replicaRouter;
+                logger.info("Routing employee reads to replica {}:{}", replicaConfig.getString("host"),
+                        replicaConfig.getInteger("port", 3306));
+            }
 
             // Circuit Breaker configuration for fault tolerance against DB failures
             // We use a relatively short timeout to fail fast if the DB is under load
@@ -72,16 +108,64 @@ public class EmployeeVerticle extends AbstractVerticle {
             circuitBreaker.closeHandler(v -> logger.info("CIRCUIT BREAKER: CLOSED (Service recovered)"));
             circuitBreaker.halfOpenHandler(v -> logger.info("CIRCUIT BREAKER: HALF-OPEN (Testing recovery...)"));
 
+            // Read-through caches (size + TTL bounded), confined to this verticle's
+            // event loop
+            JsonObject cacheConfig = config().getJsonObject("cache", new JsonObject());
+            long cacheTtlMs = cacheConfig.getLong("ttlMs", 5000L);
+            TtlCache<String, EncodedEmployeeList> listCache = new TtlCache<>("employee-lists",
+                    cacheConfig.getInteger("maxLists", 256), cacheTtlMs);
+            TtlCache<String, EmployeeDTO> recordCache = new TtlCache<>("employee-records",
+                    cacheConfig.getInteger("maxRecords", 10_000), cacheTtlMs);
+
             // Initialize repository and service
-            EmployeeRepository repository = new EmployeeRepository(dbPool);
-            service = new EmployeeService(repository, circuitBreaker);
+            EmployeeRepository repository = new EmployeeRepository(writePool, readPool, replicaRouter,
+                    dbConfig.getLong("changesSettleMs", EmployeeRepository.DEFAULT_CHANGES_SETTLE_MS));
+
+            // Optional group commit: concurrent single creates share one transaction
+            UpsertCoalescer coalescer = null;
+            JsonObject groupCommit = dbConfig.getJsonObject("groupCommit", new JsonObject());
+            if (groupCommit.getBoolean("enabled", false)) {
+                coalescer = new UpsertCoalescer(vertx, repository, groupCommit.getLong("windowMs", 2L),
+                        groupCommit.getInteger("maxBatch", 64));
+            }
+
+            // Batch creations share a small window of write connections, leaving
+            // the rest of the write pool to single-item requests
+            JsonObject batchConfig = dbConfig.getJsonObject("batch", new JsonObject());
+            ConcurrencyLimiter batchLimiter = new ConcurrencyLimiter("employee-batch",
+                    batchConfig.getInteger("maxConcurrent", 2), batchConfig.getInteger("maxQueued", 32));
+
+            ChangeFeed changes = new ChangeFeed(vertx,
+                    config().getJsonObject("changes", new JsonObject()).getInteger("historySize", 10_000));
+
+            service = new EmployeeService(repository, circuitBreaker, listCache, recordCache,
+                    new DataVersion(vertx), changes, new EmployeeSnapshot(), coalescer, batchLimiter);
 
             // Register handlers for Event Bus addresses
             vertx.eventBus().consumer("employees.get.all", this::getAllEmployees);
+            vertx.eventBus().consumer("employees.query", this::queryEmployees);
+            vertx.eventBus().consumer("employees.get.one", this::getEmployee);
+            vertx.eventBus().consumer("employees.get.many", this::getEmployees);
+            vertx.eventBus().consumer("employees.stream.open", this::openEmployeeStream);
+            vertx.eventBus().consumer("employees.export.open", this::openExportStream);
             vertx.eventBus().consumer("employees.create", this::createEmployee);
             vertx.eventBus().consumer("employees.create.batch", this::createEmployeeBatch);
+            vertx.eventBus().consumer("employees.create.batch.partial", this::createEmployeeBatchPartial);
+            vertx.eventBus().consumer("employees.import.chunk", this::importChunk);
             vertx.eventBus().consumer("employees.update", this::updateEmployee);
             vertx.eventBus().consumer("employees.delete", this::deleteEmployee);
+            vertx.eventBus().consumer("employees.changes.since", this::getChangesSince);
+            vertx.eventBus().consumer("employees.modified.since", this::getModifiedSince);
+            vertx.eventBus().consumer("employees.stats", this::getSalaryStats);
+
+            // Analytics snapshot: loaded now, kept current by this verticle's
+            // writes, and reloaded periodically to pick up other instances' writes
+            reloadSnapshot();
+            long snapshotReloadMs = config().getJsonObject("snapshot", new JsonObject())
+                    .getLong("reloadIntervalMs", 300_000L);
+            if (snapshotReloadMs > 0) {
+                vertx.setPeriodic(snapshotReloadMs, id -> reloadSnapshot());
+            }
 
             logger.info("EmployeeVerticle Deployed and Listening on Event Bus");
             startPromise.complete();
@@ -92,37 +176,307 @@ public class EmployeeVerticle extends AbstractVerticle {
         }
     }
 
+    /**
+     * Stops the replica health probe. The pools are closed by Vert.x on
+     * undeploy.
+     */
+    @Override
+    public void stop() {
+        if (replicaRouter != null) {
+            replicaRouter.stop();
+        }
+    }
+
+    /**
+     * Builds the MySQL connect options shared by every pool, for a given host.
+     *
+     * @param dbConfig the database configuration
+     * @param host     the server host (primary or replica)
+     * @param port     the server port
+     * @return the connect options
+     */
+    private static MySQLConnectOptions connectOptions(JsonObject dbConfig, String host, int port) {
+        return new MySQLConnectOptions()
+                .setHost(host)
+                .setPort(port)
+                .setDatabase(dbConfig.getString("database"))
+                .setUser(dbConfig.getString("user"))
+                .setPassword(dbConfig.getString("password"))
+                // Report changed (not matched) rows so the create upsert can tell
+                // an insert (1) from a reactivation (2) and a duplicate (0)
+                .setUseAffectedRows(true)
+                // Filter/sort queries reuse one statement per query shape; IN-list
+                // lookups vary with their size and would only churn the cache
+                .setCachePreparedStatements(true)
+                .setPreparedStatementCacheMaxSize(256)
+                .setPreparedStatementCacheSqlFilter(sql -> !sql.contains(" IN ("));
+    }
+
+    /**
+     * Builds a connection pool.
+     *
+     * @param connectOptions the server to connect to
+     * @param maxSize        the maximum number of connections
+     * @return the pool
+     */
+    private Pool pool(MySQLConnectOptions connectOptions, int maxSize) {
+        return MySQLBuilder.pool()
+                .with(new PoolOptions().setMaxSize(maxSize))
+                .connectingTo(connectOptions)
+                .using(vertx)
+                .build();
+    }
+
     /**
      * Handler for 'employees.get.all' address.
      * Fetches all employees via the service layer.
+     * <p>
+     * Replies with the (possibly cached) pre-serialized JSON array, passed by
+     * reference through the {@link EncodedEmployeeList.Codec}.
+     * </p>
      *
      * @param message the Event Bus message
      */
     private void getAllEmployees(Message<Object> message) {
-        service.getAllEmployees().onSuccess(list -> {
-            JsonArray response = new JsonArray();
-            list.forEach(dto -> response.add(dto.toJson()));
-            message.reply(response);
-        }).onFailure(err -> handleError(message, err));
+        service.getAllEmployees()
+                .onSuccess(message::reply)
+                .onFailure(err -> handleError(message, err));
+    }
+
+    /**
+     * Handler for 'employees.query' address.
+     * Fetches employees matching a filter, sort and/or keyset page query.
+     *
+     * @param message the Event Bus message containing an
+     *                {@link EmployeeQueryDTO} as JSON
+     */
+    private void queryEmployees(Message<JsonObject> message) {
+        EmployeeQueryDTO query = EmployeeQueryDTO.fromJson(message.body());
+
+        service.findEmployees(query)
+                .onSuccess(message::reply)
+                .onFailure(err -> handleError(message, err));
+    }
+
+    /**
+     * Handler for 'employees.get.one' address.
+     * Fetches a single employee by ID.
+     *
+     * @param message the Event Bus message containing the employee {@code id}
+     */
+    private void getEmployee(Message<JsonObject> message) {
+        service.getEmployee(message.body().getString("id"))
+                .onSuccess(message::reply)
+                .onFailure(err -> handleError(message, err));
+    }
+
+    /**
+     * Handler for 'employees.get.many' address.
+     * Resolves a list of employee IDs in one database round trip.
+     *
+     * @param message the Event Bus message containing a JsonArray of IDs
+     */
+    private void getEmployees(Message<JsonArray> message) {
+        JsonArray body = message.body();
+        if (body == null || body.isEmpty()) {
+            message.fail(ErrorCode.EMPTY_BODY.ordinal(), "ID list is empty");
+            return;
+        }
+
+        List<String> ids = new java.util.ArrayList<>();
+        for (int i = 0; i < body.size(); i++) {
+            ids.add(body.getString(i));
+        }
+
+        service.getEmployees(ids)
+                .onSuccess(list -> message.reply(list, EmployeeListCodec.OPTIONS))
+                .onFailure(err -> handleError(message, err));
+    }
+
+    /**
+     * Handler for 'employees.stream.open' address.
+     * <p>
+     * Opens a database cursor and exposes it on a private, per-stream Event Bus
+     * address. The requester pulls chunks by sending {@code next} to that
+     * address and stops with {@code close}. Because each chunk is only fetched
+     * on demand, memory stays bounded by {@link #STREAM_CHUNK_SIZE} regardless
+     * of table size.
+     * </p>
+     * <p>
+     * Each chunk is replied as a Buffer of comma-separated JSON objects,
+     * serialized straight from the rows, with a {@code done} header set to
+     * {@code true} on the last one.
+     * </p>
+     * <p>
+     * The optional {@code fields} header narrows the cursor's column list.
+     * </p>
+     *
+     * @param message the Event Bus message
+     */
+    private void openEmployeeStream(Message<Object> message) {
+        Set<EmployeeField> fields;
+        try {
+            fields = fieldsOf(message);
+        } catch (IllegalArgumentException e) {
+            message.fail(ErrorCode.VALIDATION_ERROR.ordinal(), e.getMessage());
+            return;
+        }
+
+        service.openEmployeeCursor(fields)
+                .onSuccess(cursor -> exposeCursor(message, cursor))
+                .onFailure(err -> handleError(message, err));
+    }
+
+    /**
+     * Handler for 'employees.export.open' address.
+     * <p>
+     * Opens a cursor over the whole table for an export and exposes it with the
+     * same pull protocol as {@code employees.stream.open}. Chunks are encoded in
+     * the format named by the {@code format} header (NDJSON lines or CSV
+     * records). Inactive employees are included when the
+     * {@code includeInactive} header is {@code true}.
+     * </p>
+     *
+     * @param message the Event Bus message
+     */
+    private void openExportStream(Message<Object> message) {
+        Set<EmployeeField> fields;
+        ExportFormat format;
+        try {
+            fields = fieldsOf(message);
+            format = ExportFormat.fromParam(message.headers().get("format"));
+        } catch (IllegalArgumentException e) {
+            message.fail(ErrorCode.VALIDATION_ERROR.ordinal(), e.getMessage());
+            return;
+        }
+        boolean includeInactive = Boolean.parseBoolean(message.headers().get("includeInactive"));
+
+        service.openExportCursor(fields, includeInactive, format)
+                .onSuccess(cursor -> exposeCursor(message, cursor))
+                .onFailure(err -> handleError(message, err));
+    }
+
+    /**
+     * Registers a private, per-stream address serving chunks of an open cursor
+     * and replies with it. The cursor is closed once exhausted, on
+     * {@code close}, or after {@link #STREAM_IDLE_TIMEOUT_MS} without a request.
+     *
+     * @param message the open request to reply to
+     * @param cursor  the opened cursor
+     */
+    private void exposeCursor(Message<Object> message, EmployeeCursor cursor) {
+        String address = "employees.stream." + UUID.randomUUID();
+        MessageConsumer<JsonObject> consumer = vertx.eventBus().consumer(address);
+        long[] idleTimer = new long[1];
+
+        Runnable release = () -> {
+            vertx.cancelTimer(idleTimer[0]);
+            consumer.unregister();
+            cursor.close();
+        };
+        Runnable armIdleTimer = () -> idleTimer[0] = vertx.setTimer(STREAM_IDLE_TIMEOUT_MS, id -> {
+            logger.warn("Closing idle employee stream {}", address);
+            release.run();
+        });
+        armIdleTimer.run();
+
+        consumer.handler(request -> {
+            vertx.cancelTimer(idleTimer[0]);
+            if (!"next".equals(request.body().getString("action"))) {
+                release.run();
+                request.reply(Buffer.buffer(), new DeliveryOptions().addHeader("done", "true"));
+                return;
+            }
+            cursor.read(STREAM_CHUNK_SIZE).onSuccess(items -> {
+                boolean done = !cursor.hasMore();
+                if (done) {
+                    release.run();
+                } else {
+                    armIdleTimer.run();
+                }
+                request.reply(items, new DeliveryOptions().addHeader("done", String.valueOf(done)));
+            }).onFailure(err -> {
+                release.run();
+                handleError(request, err);
+            });
+        });
+
+        message.reply(new JsonObject().put("address", address));
+    }
+
+    /**
+     * Handler for 'employees.changes.since' address.
+     * <p>
+     * Used by change feed subscribers when they connect: replies with the
+     * latest version and, if the message carries {@code since}, the changes
+     * made after it.
+     * </p>
+     *
+     * @param message the Event Bus message, optionally containing {@code since}
+     */
+    private void getChangesSince(Message<JsonObject> message) {
+        String since = message.body() != null ? message.body().getString("since") : null;
+        service.getChangesSince(since)
+                .onSuccess(message::reply)
+                .onFailure(err -> handleError(message, err));
+    }
+
+    /**
+     * Handler for 'employees.modified.since' address.
+     * Fetches a page of employees modified after a timestamp, soft-deleted ones
+     * included, for delta sync.
+     *
+     * @param message the Event Bus message containing {@code since} and,
+     *                optionally, {@code after} and {@code limit}
+     */
+    private void getModifiedSince(Message<JsonObject> message) {
+        Set<EmployeeField> fields;
+        try {
+            fields = fieldsOf(message);
+        } catch (IllegalArgumentException e) {
+            message.fail(ErrorCode.VALIDATION_ERROR.ordinal(), e.getMessage());
+            return;
+        }
+        JsonObject body = message.body();
+        service.getModifiedSince(body.getString("since"), body.getString("after"), body.getInteger("limit"), fields)
+                .onSuccess(message::reply)
+                .onFailure(err -> handleError(message, err));
+    }
+
+    /**
+     * Handler for 'employees.stats' address.
+     * Replies with salary statistics of the active employees, overall and per
+     * department, computed from the in-process snapshot.
+     *
+     * @param message the Event Bus message
+     */
+    private void getSalaryStats(Message<Object> message) {
+        service.getSalaryStats()
+                .onSuccess(message::reply)
+                .onFailure(err -> handleError(message, err));
+    }
+
+    private void reloadSnapshot() {
+        service.reloadSnapshot()
+                .onFailure(err -> logger.warn("Failed to load the employee snapshot: {}", err.getMessage()));
     }
 
     /**
      * Handler for 'employees.create' address.
-     * Parses the request body and creates a new employee.
+     * Creates a new employee from the DTO sent by the web layer.
      *
-     * @param message the Event Bus message containing employee data
+     * @param message the Event Bus message containing the employee DTO
      */
-    private void createEmployee(Message<JsonObject> message) {
+    private void createEmployee(Message<EmployeeDTO> message) {
         try {
-            JsonObject body = message.body();
-            if (body == null) {
+            EmployeeDTO dto = message.body();
+            if (dto == null) {
                 message.fail(ErrorCode.MISSING_NAME.ordinal(), "Body is null");
                 return;
             }
-            EmployeeDTO dto = EmployeeDTO.fromJson(body);
 
             service.createEmployee(dto).onSuccess(savedDto -> {
-                message.reply(savedDto.toJson());
+                message.reply(savedDto);
             }).onFailure(err -> {
                 handleError(message, err);
             });
@@ -134,49 +488,89 @@ public class EmployeeVerticle extends AbstractVerticle {
     /**
      * Handler for 'employees.create.batch' address.
      * <p>
-     * Parses the incoming JsonArray into a list of EmployeeDTOs and delegates
-     * to the service for concurrent creation.
+     * Delegates the list of EmployeeDTOs parsed by the web layer to the service
+     * for batched creation.
      * </p>
      *
-     * @param message the Event Bus message containing a JsonArray of employee
-     *                objects
+     * @param message the Event Bus message containing the employee DTOs
      */
-    private void createEmployeeBatch(Message<JsonArray> message) {
+    private void createEmployeeBatch(Message<List<EmployeeDTO>> message) {
         try {
-            JsonArray body = message.body();
-            if (body == null || body.isEmpty()) {
+            List<EmployeeDTO> dtos = message.body();
+            if (dtos == null || dtos.isEmpty()) {
                 message.fail(ErrorCode.EMPTY_BODY.ordinal(), "Batch body is empty");
                 return;
             }
 
-            java.util.List<EmployeeDTO> dtos = new java.util.ArrayList<>();
-            for (int i = 0; i < body.size(); i++) {
-                dtos.add(EmployeeDTO.fromJson(body.getJsonObject(i)));
+            service.createBatch(dtos)
+                    .onSuccess(list -> message.reply(list, EmployeeListCodec.OPTIONS))
+                    .onFailure(err -> handleError(message, err));
+        } catch (Exception e) {
+            handleError(message, e);
+        }
+    }
+
+    /**
+     * Handler for 'employees.create.batch.partial' address.
+     * <p>
+     * Like 'employees.create.batch', but replies with a JsonArray holding one
+     * result per item instead of failing the whole batch.
+     * </p>
+     *
+     * @param message the Event Bus message containing the employee DTOs
+     */
+    private void createEmployeeBatchPartial(Message<List<EmployeeDTO>> message) {
+        try {
+            List<EmployeeDTO> dtos = message.body();
+            if (dtos == null || dtos.isEmpty()) {
+                message.fail(ErrorCode.EMPTY_BODY.ordinal(), "Batch body is empty");
+                return;
             }
 
-            service.createBatch(dtos).onSuccess(list -> {
-                JsonArray response = new JsonArray();
-                list.forEach(dto -> response.add(dto.toJson()));
-                message.reply(response);
-            }).onFailure(err -> handleError(message, err));
+            service.createBatchPartial(dtos)
+                    .onSuccess(results -> message.reply(toJsonArray(results)))
+                    .onFailure(err -> handleError(message, err));
         } catch (Exception e) {
             handleError(message, e);
         }
     }
 
+    /**
+     * Handler for 'employees.import.chunk' address.
+     * <p>
+     * Writes one chunk of a bulk import job (sent by {@code ImportVerticle}) and
+     * replies with a JsonArray holding one result per item.
+     * </p>
+     *
+     * @param message the Event Bus message containing the employee DTOs
+     */
+    private void importChunk(Message<List<EmployeeDTO>> message) {
+        try {
+            service.importChunk(message.body())
+                    .onSuccess(results -> message.reply(toJsonArray(results)))
+                    .onFailure(err -> handleError(message, err));
+        } catch (Exception e) {
+            handleError(message, e);
+        }
+    }
+
+    private static JsonArray toJsonArray(List<BatchItemResult> results) {
+        JsonArray array = new JsonArray(new ArrayList<>(results.size()));
+        results.forEach(result -> array.add(result.toJson()));
+        return array;
+    }
+
     /**
      * Handler for 'employees.update' address.
      * Updates an employee record identified by ID.
      *
      * @param message the Event Bus message containing ID and new data
      */
-    private void updateEmployee(Message<JsonObject> message) {
+    private void updateEmployee(Message<EmployeeDTO> message) {
         try {
-            JsonObject body = message.body();
-            String id = body.getString("id");
-            EmployeeDTO dto = EmployeeDTO.fromJson(body);
+            EmployeeDTO dto = message.body();
 
-            service.updateEmployee(id, dto).onSuccess(found -> {
+            service.updateEmployee(dto.getId(), dto).onSuccess(found -> {
                 message.reply(new JsonObject().put("status", "updated"));
             }).onFailure(err -> handleError(message, err));
         } catch (Exception e) {
@@ -190,16 +584,26 @@ public class EmployeeVerticle extends AbstractVerticle {
      *
      * @param message the Event Bus message containing the employee mutation payload
      */
-    private void deleteEmployee(Message<JsonObject> message) {
-        JsonObject body = message.body();
-        String id = body.getString("id");
-        String user = body.getString("lastModifiedBy", "anonymous");
+    private void deleteEmployee(Message<EmployeeDTO> message) {
+        EmployeeDTO dto = message.body();
+        String user = dto.getLastModifiedBy() != null ? dto.getLastModifiedBy() : "anonymous";
 
-        service.deleteEmployee(id, user).onSuccess(done -> {
+        service.deleteEmployee(dto.getId(), user).onSuccess(done -> {
             message.reply(new JsonObject().put("status", "deleted"));
         }).onFailure(err -> handleError(message, err));
     }
 
+    /**
+     * Reads the sparse fieldset sent in the {@code fields} message header.
+     *
+     * @param message the Event Bus message
+     * @return the requested projection, or every field if the header is absent
+     * @throws IllegalArgumentException if a field name is unknown
+     */
+    private static Set<EmployeeField> fieldsOf(Message<?> message) {
+        return EmployeeField.parse(message.headers().get("fields"));
+    }
+
     /**
      * Common error handling for Event Bus replies.
      * Translates exceptions into failed Event Bus messages with relevant error
@@ -0,0 +1,126 @@
+package ziadatari.ReactiveAPI.repository;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import ziadatari.ReactiveAPI.exception.ErrorCode;
+
+import java.time.Instant;
+
+/**
+ * Progress of one bulk import job, as reported by {@code GET /jobs/{id}}.
+ * <p>
+ * <b>Threading:</b> owned and updated by the single {@link ImportVerticle}
+ * instance; other verticles only see its JSON snapshot.
+ * </p>
+ */
+class ImportJob {
+
+  /** Rejected lines listed in the report; further ones are only counted. */
+  private static final int MAX_REPORTED_ERRORS = 100;
+
+  /**
+   * Lifecycle of a job.
+   */
+  enum Status {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  private final String id;
+  /** The uploading user; only they may read the job. */
+  private final String owner;
+  private final String submittedAt = Instant.now().toString();
+  private Status status = Status.QUEUED;
+  private String finishedAt;
+  private String failure;
+
+  private long lines;
+  private long created;
+  private long reactivated;
+  private long conflicts;
+  private long invalid;
+  private final JsonArray errors = new JsonArray();
+
+  ImportJob(String id, String owner) {
+    this.id = id;
+    this.owner = owner;
+  }
+
+  String getId() {
+    return id;
+  }
+
+  boolean isOwnedBy(String user) {
+    return owner.equals(user);
+  }
+
+  void start() {
+    status = Status.RUNNING;
+  }
+
+  void complete() {
+    status = Status.COMPLETED;
+    finishedAt = Instant.now().toString();
+  }
+
+  void fail(String reason) {
+    status = Status.FAILED;
+    failure = reason;
+    finishedAt = Instant.now().toString();
+  }
+
+  /** Counts a non-blank line read from the upload. */
+  void lineRead() {
+    lines++;
+  }
+
+  void created() {
+    created++;
+  }
+
+  void reactivated() {
+    reactivated++;
+  }
+
+  /**
+   * Records a line that was not written.
+   *
+   * @param line     the 1-based line number in the upload
+   * @param conflict true for a duplicate, false for an invalid line
+   * @param code     the error code (see {@link ErrorCode#getCode()})
+   * @param message  the error message
+   */
+  void rejected(long line, boolean conflict, String code, String message) {
+    if (conflict) {
+      conflicts++;
+    } else {
+      invalid++;
+    }
+    if (errors.size() < MAX_REPORTED_ERRORS) {
+      errors.add(new JsonObject()
+          .put("line", line)
+          .put("errorCode", code)
+          .put("message", message));
+    }
+  }
+
+  /**
+   * @return a snapshot of the job
+   */
+  JsonObject toJson() {
+    return new JsonObject()
+        .put("id", id)
+        .put("status", status.name())
+        .put("submittedAt", submittedAt)
+        .put("finishedAt", finishedAt)
+        .put("linesRead", lines)
+        .put("created", created)
+        .put("reactivated", reactivated)
+        .put("conflicts", conflicts)
+        .put("invalid", invalid)
+        .put("errors", errors.copy())
+        .put("failure", failure);
+  }
+}
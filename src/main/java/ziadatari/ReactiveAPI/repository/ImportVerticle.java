@@ -0,0 +1,378 @@
+package ziadatari.ReactiveAPI.repository;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.parsetools.RecordParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ziadatari.ReactiveAPI.dto.BatchItemResult;
+import ziadatari.ReactiveAPI.dto.EmployeeDTO;
+import ziadatari.ReactiveAPI.dto.EmployeeListCodec;
+import ziadatari.ReactiveAPI.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Worker verticle that runs bulk employee imports in the background.
+ * <p>
+ * The web layer spools an NDJSON upload (one employee object per line) to a
+ * temporary file and hands it over on {@code imports.start}. The file is read
+ * with a {@link RecordParser} and cut into chunks. Each chunk is written by
+ * {@code EmployeeVerticle} in a single transaction, with per-item outcomes,
+ * and reading is paused until its reply arrives, so memory use is bounded by
+ * one chunk no matter how large the upload is. Lines longer than
+ * {@link #MAX_LINE_BYTES} are skipped without being buffered and reported as
+ * invalid.
+ * </p>
+ * <p>
+ * A job is only visible to the user who uploaded it.
+ * </p>
+ * <p>
+ * Progress is kept in memory and served on {@code imports.status}. Finished
+ * jobs are forgotten after an hour. Chunks that are turned away because the
+ * write window is full are retried with a growing delay; any other failure
+ * stops the job, leaving the chunks written so far committed.
+ * </p>
+ */
+public class ImportVerticle extends AbstractVerticle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportVerticle.class);
+
+    /** Finished jobs stay queryable for this long. */
+    private static final long JOB_RETENTION_MS = 3_600_000;
+    /** Attempts per chunk while the write window is full. */
+    private static final int MAX_CHUNK_ATTEMPTS = 10;
+    private static final long RETRY_DELAY_MS = 500;
+    /** A chunk may legitimately take longer than an interactive request. */
+    private static final long CHUNK_TIMEOUT_MS = 60_000;
+    /**
+     * Longest accepted line; an employee record needs a few hundred bytes.
+     * Must stay above the file read buffer (8 KB): a paused parser still
+     * holds the rest of the last read, which must not count as one record.
+     */
+    private static final int MAX_LINE_BYTES = 16_384;
+
+    private final Map<String, ImportJob> jobs = new HashMap<>();
+    private int chunkSize;
+    private DeliveryOptions chunkOptions;
+
+    /**
+     * Registers the job consumers.
+     *
+     * @param startPromise a promise to signal deployment success or failure
+     */
+    @Override
+    public void start(Promise<Void> startPromise) {
+        chunkSize = config().getJsonObject("import", new JsonObject()).getInteger("chunkSize", 500);
+        chunkOptions = new DeliveryOptions(EmployeeListCodec.OPTIONS).setSendTimeout(CHUNK_TIMEOUT_MS);
+
+        vertx.eventBus().consumer("imports.start", this::startJob);
+        vertx.eventBus().consumer("imports.status", this::jobStatus);
+
+        logger.info("ImportVerticle Deployed (chunk size {})", chunkSize);
+        startPromise.complete();
+    }
+
+    /**
+     * Handler for 'imports.start' address.
+     * <p>
+     * Registers a job for a spooled upload, replies with its initial state and
+     * starts processing it.
+     * </p>
+     *
+     * @param message the Event Bus message containing the spool file path
+     *                ({@code file}) and the uploading user ({@code user})
+     */
+    private void startJob(Message<JsonObject> message) {
+        String file = message.body().getString("file");
+        String user = message.body().getString("user", "anonymous");
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), user);
+        jobs.put(job.getId(), job);
+        message.reply(job.toJson());
+
+        vertx.fileSystem().open(file, new OpenOptions().setRead(true))
+                .onSuccess(input -> {
+                    job.start();
+                    logger.info("Import job {} started", job.getId());
+                    new Run(job, file, user, input).start();
+                })
+                .onFailure(err -> finish(job, file, err));
+    }
+
+    /**
+     * Handler for 'imports.status' address.
+     * <p>
+     * Jobs of other users are reported as not found, so job IDs cannot be
+     * probed.
+     * </p>
+     *
+     * @param message the Event Bus message containing the job {@code id} and
+     *                the requesting user ({@code user})
+     */
+    private void jobStatus(Message<JsonObject> message) {
+        ImportJob job = jobs.get(message.body().getString("id"));
+        if (job == null || !job.isOwnedBy(message.body().getString("user", "anonymous"))) {
+            message.fail(ErrorCode.JOB_NOT_FOUND.ordinal(), ErrorCode.JOB_NOT_FOUND.getMessage());
+            return;
+        }
+        message.reply(job.toJson());
+    }
+
+    /**
+     * Marks a job as finished, deletes its spool file and schedules its removal.
+     *
+     * @param job   the job
+     * @param file  the spool file
+     * @param error the failure, or null on success
+     */
+    private void finish(ImportJob job, String file, Throwable error) {
+        if (error == null) {
+            job.complete();
+            logger.info("Import job {} completed", job.getId());
+        } else {
+            job.fail(error.getMessage());
+            logger.error("Import job {} failed: {}", job.getId(), error.getMessage());
+        }
+        vertx.fileSystem().delete(file)
+                .onFailure(err -> logger.warn("Could not delete import spool file {}", file));
+        vertx.setTimer(JOB_RETENTION_MS, id -> jobs.remove(job.getId()));
+    }
+
+    /**
+     * Reads one spooled upload and writes it chunk by chunk.
+     */
+    private final class Run {
+        private final ImportJob job;
+        private final String file;
+        private final String user;
+        private final AsyncFile input;
+        /**
+         * Splits the input into lines. Not attached to the file, because an
+         * overlong line is dropped by replacing the parser.
+         */
+        private RecordParser parser;
+
+        private List<EmployeeDTO> chunk = new ArrayList<>();
+        /** Line number of each chunk item, for error reports. */
+        private List<Long> chunkLines = new ArrayList<>();
+        private long lineNumber;
+        /** Dropping an overlong line up to its newline. */
+        private boolean skipping;
+        /** Waiting for a chunk to be committed. */
+        private boolean paused;
+        private boolean ended;
+        private boolean failed;
+
+        private Run(ImportJob job, String file, String user, AsyncFile input) {
+            this.job = job;
+            this.file = file;
+            this.user = user;
+            this.input = input;
+        }
+
+        private void start() {
+            newParser();
+            input.exceptionHandler(this::fail);
+            input.endHandler(v -> {
+                ended = true;
+                // Terminates a last line without a newline
+                receive(Buffer.buffer("\n"));
+                if (!paused) {
+                    end();
+                }
+            });
+            input.handler(this::receive);
+        }
+
+        private void newParser() {
+            parser = RecordParser.newDelimited("\n");
+            parser.maxRecordSize(MAX_LINE_BYTES);
+            // Only raised for an overlong line, which the parser keeps buffering
+            parser.exceptionHandler(err -> skipLongLine());
+            parser.handler(this::line);
+        }
+
+        private void receive(Buffer data) {
+            if (failed) {
+                return;
+            }
+            if (skipping) {
+                int newline = indexOfNewline(data);
+                if (newline < 0) {
+                    return;
+                }
+                skipping = false;
+                newParser();
+                data = data.getBuffer(newline + 1, data.length());
+            }
+            parser.handle(data);
+        }
+
+        private void line(Buffer line) {
+            if (failed) {
+                return;
+            }
+            lineNumber++;
+            read(line.toString(StandardCharsets.UTF_8).trim());
+            if (chunk.size() >= chunkSize) {
+                // Stop reading until the chunk is committed (backpressure)
+                paused = true;
+                parser.pause();
+                input.pause();
+                flush().onSuccess(done -> resume()).onFailure(this::fail);
+            }
+        }
+
+        private void resume() {
+            paused = false;
+            // Lines still buffered in the parser may fill the next chunk
+            parser.resume();
+            if (paused) {
+                return;
+            }
+            if (ended) {
+                end();
+            } else {
+                input.resume();
+            }
+        }
+
+        /**
+         * Reports the current line as invalid and drops it, including the
+         * part the parser has buffered.
+         */
+        private void skipLongLine() {
+            lineNumber++;
+            job.lineRead();
+            job.rejected(lineNumber, false, ErrorCode.PAYLOAD_TOO_LARGE.getCode(),
+                    "Line exceeds " + MAX_LINE_BYTES + " bytes.");
+            skipping = true;
+        }
+
+        private int indexOfNewline(Buffer data) {
+            for (int i = 0; i < data.length(); i++) {
+                if (data.getByte(i) == '\n') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Writes the last chunk once the whole upload has been read.
+         */
+        private void end() {
+            if (failed) {
+                return;
+            }
+            flush().onSuccess(done -> {
+                input.close();
+                finish(job, file, null);
+            }).onFailure(this::fail);
+        }
+
+        /**
+         * Binds one line to a DTO, or reports it as invalid.
+         */
+        private void read(String line) {
+            if (line.isEmpty()) {
+                return;
+            }
+            job.lineRead();
+            try {
+                JsonObject json = new JsonObject(line);
+                // Only the creatable fields are taken; ID and audit data are
+                // assigned on write
+                chunk.add(EmployeeDTO.builder()
+                        .name(json.getString("name"))
+                        .department(json.getString("department"))
+                        .salary(json.getDouble("salary"))
+                        .lastModifiedBy(user)
+                        .build());
+                chunkLines.add(lineNumber);
+            } catch (DecodeException | ClassCastException e) {
+                job.rejected(lineNumber, false, ErrorCode.INVALID_JSON_FORMAT.getCode(),
+                        ErrorCode.INVALID_JSON_FORMAT.getMessage());
+            }
+        }
+
+        /**
+         * Writes the pending chunk and records its outcomes.
+         */
+        private Future<Void> flush() {
+            if (chunk.isEmpty()) {
+                return Future.succeededFuture();
+            }
+            List<EmployeeDTO> items = chunk;
+            List<Long> lines = chunkLines;
+            chunk = new ArrayList<>();
+            chunkLines = new ArrayList<>();
+
+            return send(items, 1).map(results -> {
+                for (int i = 0; i < results.size(); i++) {
+                    JsonObject result = results.getJsonObject(i);
+                    long line = lines.get(result.getInteger("index"));
+                    switch (BatchItemResult.Status.valueOf(result.getString("status"))) {
+                        case CREATED:
+                            job.created();
+                            break;
+                        case REACTIVATED:
+                            job.reactivated();
+                            break;
+                        case CONFLICT:
+                            job.rejected(line, true, result.getString("errorCode"), result.getString("message"));
+                            break;
+                        default:
+                            job.rejected(line, false, result.getString("errorCode"), result.getString("message"));
+                            break;
+                    }
+                }
+                return null;
+            });
+        }
+
+        /**
+         * Sends a chunk, retrying while the write window is full or the
+         * database circuit is open.
+         */
+        private Future<JsonArray> send(List<EmployeeDTO> items, int attempt) {
+            return vertx.eventBus().<JsonArray>request("employees.import.chunk", items, chunkOptions)
+                    .map(Message::body)
+                    .recover(err -> {
+                        boolean busy = err instanceof ReplyException
+                                && ((ReplyException) err).failureCode() == ErrorCode.SERVICE_UNAVAILABLE.ordinal();
+                        if (!busy || attempt >= MAX_CHUNK_ATTEMPTS) {
+                            return Future.failedFuture(err);
+                        }
+                        Promise<JsonArray> retry = Promise.promise();
+                        vertx.setTimer(RETRY_DELAY_MS * attempt, id -> send(items, attempt + 1).onComplete(retry));
+                        return retry.future();
+                    });
+        }
+
+        private void fail(Throwable err) {
+            if (failed) {
+                return;
+            }
+            failed = true;
+            input.close();
+            finish(job, file, err);
+        }
+    }
+}
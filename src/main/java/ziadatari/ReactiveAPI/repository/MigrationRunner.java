@@ -0,0 +1,246 @@
+package ziadatari.ReactiveAPI.repository;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mysqlclient.MySQLConnectOptions;
+import io.vertx.mysqlclient.MySQLConnection;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Tuple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Brings the database schema up to date before any verticle touches it.
+ * <p>
+ * Migrations are SQL files on the classpath under {@code db/migration}, named
+ * {@code V<version>__<description>.sql} (e.g.
+ * {@code V2__employee_keys_and_indexes.sql}). Pending ones are applied in
+ * version order and recorded in {@code schema_migrations} with a SHA-256
+ * checksum of their content. An applied migration whose file has changed
+ * since stops the startup: migrations are immutable, fixes go into a new
+ * version.
+ * </p>
+ * <p>
+ * Statements are separated by a {@code ;} at the end of a line; lines
+ * starting with {@code --} are comments. MySQL commits DDL implicitly, so a
+ * migration that fails halfway is not rolled back and is not recorded: the
+ * error is logged, and the whole file runs again on the next start. Migrations
+ * must therefore be safe to rerun: a step that changes the schema or rewrites
+ * data is guarded on {@code information_schema} (with {@code PREPARE} and
+ * {@code EXECUTE}) so it is skipped once done, and checks that can fail, such
+ * as a new unique key, come before any destructive step.
+ * </p>
+ * <p>
+ * Instances starting at the same time take turns through a MySQL named lock,
+ * so each migration runs once.
+ * </p>
+ */
+public class MigrationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(MigrationRunner.class);
+
+  private static final String LOCATION = "db/migration";
+  private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+  private static final Pattern STATEMENT_END = Pattern.compile(";[ \\t]*(\\n|$)");
+  private static final String LOCK = "schema_migrations";
+  private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+  private static final String CREATE_HISTORY = "CREATE TABLE IF NOT EXISTS schema_migrations ("
+      + "version INT PRIMARY KEY, "
+      + "description VARCHAR(255) NOT NULL, "
+      + "checksum CHAR(64) NOT NULL, "
+      + "applied_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6), "
+      + "execution_ms BIGINT NOT NULL)";
+
+  private final Vertx vertx;
+  private final MySQLConnectOptions connectOptions;
+
+  /**
+   * Constructs a MigrationRunner.
+   *
+   * @param vertx    the Vertx instance used for file and database access
+   * @param dbConfig the database configuration (host, port, database, user,
+   *                 password)
+   */
+  public MigrationRunner(Vertx vertx, JsonObject dbConfig) {
+    this.vertx = vertx;
+    this.connectOptions = new MySQLConnectOptions()
+        .setHost(dbConfig.getString("host"))
+        .setPort(dbConfig.getInteger("port"))
+        .setDatabase(dbConfig.getString("database"))
+        .setUser(dbConfig.getString("user"))
+        .setPassword(dbConfig.getString("password"));
+  }
+
+  /**
+   * Applies every pending migration.
+   *
+   * @return a Future that completes once the schema is current, or fails
+   *         without deploying anything further
+   */
+  public Future<Void> migrate() {
+    return load().compose(migrations -> MySQLConnection.connect(vertx, connectOptions)
+        .compose(conn -> lock(conn)
+            .compose(v -> conn.query(CREATE_HISTORY).execute())
+            .compose(v -> applyPending(conn, migrations))
+            .eventually(() -> conn.query("SELECT RELEASE_LOCK('" + LOCK + "')").execute()
+                .eventually(() -> conn.close()))));
+  }
+
+  /**
+   * Reads and parses the migration files, in version order.
+   */
+  private Future<List<Migration>> load() {
+    return vertx.fileSystem().readDir(LOCATION).compose(paths -> {
+      List<Future<Migration>> reads = new ArrayList<>();
+      Set<Integer> versions = new HashSet<>();
+      for (String path : paths) {
+        String fileName = path.substring(Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1);
+        Matcher matcher = FILE_NAME.matcher(fileName);
+        if (!matcher.matches()) {
+          logger.warn("Ignoring {}: migration files are named V<version>__<description>.sql", fileName);
+          continue;
+        }
+        int version = Integer.parseInt(matcher.group(1));
+        if (!versions.add(version)) {
+          return Future.failedFuture(new IllegalStateException("Duplicate migration version " + version));
+        }
+        String description = matcher.group(2).replace('_', ' ');
+        reads.add(vertx.fileSystem().readFile(path)
+            .map(content -> new Migration(version, description, content.toString(StandardCharsets.UTF_8))));
+      }
+      return Future.all(reads).map(all -> {
+        List<Migration> migrations = new ArrayList<>(all.<Migration>list());
+        migrations.sort(Comparator.comparingInt(m -> m.version));
+        return migrations;
+      });
+    });
+  }
+
+  private Future<Void> lock(SqlConnection conn) {
+    return conn.query("SELECT GET_LOCK('" + LOCK + "', " + LOCK_TIMEOUT_SECONDS + ")").execute()
+        .compose(rows -> {
+          Integer acquired = rows.iterator().next().getInteger(0);
+          if (acquired == null || acquired != 1) {
+            return Future.failedFuture(new IllegalStateException(
+                "Timed out waiting for another instance to finish migrating"));
+          }
+          return Future.succeededFuture();
+        });
+  }
+
+  /**
+   * Checks the applied migrations against their files, then applies the
+   * remaining ones one after the other.
+   */
+  private Future<Void> applyPending(SqlConnection conn, List<Migration> migrations) {
+    return conn.query("SELECT version, checksum FROM schema_migrations").execute().compose(rows -> {
+      Map<Integer, String> applied = new HashMap<>();
+      for (Row row : rows) {
+        applied.put(row.getInteger("version"), row.getString("checksum"));
+      }
+
+      Future<Void> chain = Future.succeededFuture();
+      int pending = 0;
+      for (Migration migration : migrations) {
+        String checksum = applied.remove(migration.version);
+        if (checksum == null) {
+          pending++;
+          chain = chain.compose(v -> apply(conn, migration));
+        } else if (!checksum.equals(migration.checksum)) {
+          return Future.failedFuture(new IllegalStateException("Migration V" + migration.version
+              + " was modified after it was applied (checksum " + checksum + ", file " + migration.checksum + ")"));
+        }
+      }
+      if (!applied.isEmpty()) {
+        logger.warn("Database has migrations this build does not know about: {}", applied.keySet());
+      }
+      if (pending == 0) {
+        logger.info("Database schema is up to date");
+      }
+      return chain;
+    });
+  }
+
+  private Future<Void> apply(SqlConnection conn, Migration migration) {
+    logger.info("Applying migration V{} ({})", migration.version, migration.description);
+    long start = System.currentTimeMillis();
+    Future<Void> chain = Future.succeededFuture();
+    for (String statement : migration.statements()) {
+      chain = chain.compose(v -> conn.query(statement).execute().<Void>mapEmpty());
+    }
+    return chain
+        .compose(v -> conn.preparedQuery(
+            "INSERT INTO schema_migrations (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)")
+            .execute(Tuple.of(migration.version, migration.description, migration.checksum,
+                System.currentTimeMillis() - start)))
+        .<Void>mapEmpty()
+        .onSuccess(v -> logger.info("Applied migration V{} in {} ms", migration.version,
+            System.currentTimeMillis() - start))
+        .recover(err -> Future.failedFuture(new IllegalStateException(
+            "Migration V" + migration.version + " failed; fix the cause and restart to resume it: "
+                + err.getMessage(), err)));
+  }
+
+  /**
+   * One migration file.
+   */
+  private static final class Migration {
+    private final int version;
+    private final String description;
+    private final String sql;
+    private final String checksum;
+
+    private Migration(int version, String description, String content) {
+      this.version = version;
+      this.description = description;
+      // Line endings are normalized so a Windows checkout has the same checksum
+      this.sql = content.replace("\r\n", "\n");
+      this.checksum = sha256(sql);
+    }
+
+    /**
+     * Splits the file into statements, dropping comment lines.
+     */
+    private List<String> statements() {
+      StringBuilder code = new StringBuilder();
+      for (String line : sql.split("\n")) {
+        if (!line.trim().startsWith("--")) {
+          code.append(line).append('\n');
+        }
+      }
+      List<String> statements = new ArrayList<>();
+      for (String statement : STATEMENT_END.split(code)) {
+        if (!statement.isBlank()) {
+          statements.add(statement.trim());
+        }
+      }
+      return statements;
+    }
+
+    private static String sha256(String text) {
+      try {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package ziadatari.ReactiveAPI.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.micrometer.backends.BackendRegistries;
+import io.vertx.sqlclient.ClosedConnectionException;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Chooses the pool that serves read queries: the read replica while it is
+ * reachable and caught up, the primary's read pool otherwise. Writes never go
+ * through this class, so a replica outage cannot starve them either.
+ * <p>
+ * A periodic probe runs {@code SHOW REPLICA STATUS} on the replica. The
+ * replica is taken out of rotation when the probe fails, when replication is
+ * stopped, or when it lags behind the primary by more than the configured
+ * number of seconds. A server that is not configured as a replica (e.g. a
+ * second standalone MySQL in tests) reports no status and counts as caught up.
+ * </p>
+ * <p>
+ * After a local write, reads stay on the primary for as long as the replica
+ * may still lack it: the tolerated lag, rounded up to the next second, plus
+ * one probe interval. Otherwise the next cache miss would refill the caches
+ * with pre-write rows, and the response would carry an ETag for the
+ * post-write data version, answering later polls with {@code 304} on stale
+ * data.
+ * </p>
+ * <p>
+ * <b>Threading:</b> created and probed on the {@code EmployeeVerticle} event
+ * loop, like the repository that consults it.
+ * </p>
+ */
+public class ReplicaRouter {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReplicaRouter.class);
+
+  private final Vertx vertx;
+  private final Pool replica;
+  private final Pool primary;
+  private final long maxLagSeconds;
+  private boolean healthy = true;
+  private long probeTimer = -1;
+  private long probeIntervalMs;
+  /** Reads use the primary until this time (epoch millis), set by writes. */
+  private long primaryUntil;
+
+  private final Counter fallbacks;
+
+  /**
+   * Constructs a ReplicaRouter.
+   *
+   * @param vertx         the Vertx instance used for the probe timer
+   * @param replica       the pool connected to the read replica
+   * @param primary       the read pool connected to the primary (fallback)
+   * @param maxLagSeconds maximum tolerated replication lag
+   */
+  public ReplicaRouter(Vertx vertx, Pool replica, Pool primary, long maxLagSeconds) {
+    this.vertx = vertx;
+    this.replica = replica;
+    this.primary = primary;
+    this.maxLagSeconds = maxLagSeconds;
+
+    MeterRegistry registry = BackendRegistries.getDefaultNow();
+    if (registry != null) {
+      fallbacks = registry.counter("employee_db_replica_fallbacks_total");
+      registry.gauge("employee_db_replica_healthy", this, router -> router.healthy ? 1 : 0);
+    } else {
+      fallbacks = null;
+    }
+  }
+
+  /**
+   * Starts probing the replica periodically.
+   *
+   * @param intervalMs the delay between two probes
+   */
+  public void start(long intervalMs) {
+    probeIntervalMs = intervalMs;
+    probe();
+    probeTimer = vertx.setPeriodic(intervalMs, id -> probe());
+  }
+
+  /**
+   * Stops probing the replica.
+   */
+  public void stop() {
+    if (probeTimer != -1) {
+      vertx.cancelTimer(probeTimer);
+      probeTimer = -1;
+    }
+  }
+
+  /**
+   * Keeps reads on the primary until the replica is guaranteed to have caught
+   * up with a write that just committed.
+   */
+  public void recordWrite() {
+    primaryUntil = System.currentTimeMillis() + (maxLagSeconds + 1) * 1000 + probeIntervalMs;
+  }
+
+  /**
+   * Returns the pool that read queries should use right now.
+   *
+   * @return the replica pool if it is healthy and no recent write is pending
+   *         on it, the primary read pool otherwise
+   */
+  public Pool readPool() {
+    if (System.currentTimeMillis() < primaryUntil) {
+      return primary;
+    }
+    if (healthy) {
+      return replica;
+    }
+    return primary;
+  }
+
+  /**
+   * Records a read that failed on the replica and is retried on the primary.
+   * Connection failures and timeouts also take the replica out of rotation
+   * until the next successful probe; errors the server returned for the query
+   * itself say nothing about the replica's health and leave it in rotation.
+   *
+   * @param err the failure observed on the replica
+   */
+  public void readFailed(Throwable err) {
+    if (fallbacks != null) {
+      fallbacks.increment();
+    }
+    if (healthy && isConnectionFailure(err)) {
+      logger.warn("Read replica failed, routing reads to the primary: {}", err.getMessage());
+      healthy = false;
+    }
+  }
+
+  /**
+   * @return true if the error means the server could not be reached or did not
+   *         answer in time, as opposed to an error it returned
+   */
+  private static boolean isConnectionFailure(Throwable err) {
+    for (Throwable cause = err; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ClosedConnectionException || cause instanceof IOException
+          || cause instanceof TimeoutException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void probe() {
+    replica.query("SHOW REPLICA STATUS").execute()
+        .onSuccess(rows -> {
+          RowIterator<Row> iterator = rows.iterator();
+          // No status row: not a replica, so there is no lag to worry about
+          Long lag = iterator.hasNext() ? iterator.next().getLong("Seconds_Behind_Source") : Long.valueOf(0);
+          updateHealth(lag != null && lag <= maxLagSeconds,
+              lag == null ? "replication is stopped" : "replication lag is " + lag + "s");
+        })
+        .onFailure(err -> updateHealth(false, err.getMessage()));
+  }
+
+  private void updateHealth(boolean nowHealthy, String reason) {
+    if (nowHealthy && !healthy) {
+      logger.info("Read replica is back in rotation");
+    } else if (!nowHealthy && healthy) {
+      logger.warn("Read replica out of rotation ({}), routing reads to the primary", reason);
+    }
+    healthy = nowHealthy;
+  }
+}
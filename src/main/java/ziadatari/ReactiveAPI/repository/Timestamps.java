@@ -0,0 +1,67 @@
+package ziadatari.ReactiveAPI.repository;
+
+import io.vertx.sqlclient.Row;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Converts {@code last_modified_at} between its API form, an ISO-8601 instant
+ * string such as {@code 2024-06-10T09:12:03.123456Z}, and its column type,
+ * {@code DATETIME(6)} holding UTC.
+ * <p>
+ * The conversion happens only at the repository edge, so DTOs, the Event Bus
+ * and the API keep the string form.
+ * </p>
+ */
+final class Timestamps {
+
+  private Timestamps() {
+  }
+
+  /**
+   * Converts an API timestamp to a column value, truncated to the column's
+   * microsecond precision.
+   *
+   * @param iso an ISO-8601 instant, or a local date-time taken as UTC
+   * @return the UTC date-time, or null if {@code iso} is null
+   * @throws DateTimeParseException if the value is not a timestamp
+   */
+  static LocalDateTime toColumn(String iso) {
+    if (iso == null) {
+      return null;
+    }
+    LocalDateTime utc;
+    try {
+      utc = LocalDateTime.ofInstant(Instant.parse(iso), ZoneOffset.UTC);
+    } catch (DateTimeParseException e) {
+      // Legacy values were written without a zone
+      utc = LocalDateTime.parse(iso);
+    }
+    return utc.truncatedTo(ChronoUnit.MICROS);
+  }
+
+  /**
+   * Converts a column value to its API form.
+   *
+   * @param utc the UTC date-time, or null
+   * @return the ISO-8601 instant, or null
+   */
+  static String fromColumn(LocalDateTime utc) {
+    return utc == null ? null : utc.toInstant(ZoneOffset.UTC).toString();
+  }
+
+  /**
+   * Reads a timestamp column in its API form.
+   *
+   * @param row    the row
+   * @param column the column position
+   * @return the ISO-8601 instant, or null
+   */
+  static String read(Row row, int column) {
+    return fromColumn(row.getLocalDateTime(column));
+  }
+}
@@ -0,0 +1,143 @@
+package ziadatari.ReactiveAPI.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.micrometer.backends.BackendRegistries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ziadatari.ReactiveAPI.dto.EmployeeDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Group commit for single-employee creates.
+ * <p>
+ * Creates that arrive within a short window are collected and written with
+ * {@link EmployeeRepository#upsertBatch(List)}: one batched statement and one
+ * commit instead of one round trip and one commit each. A batch is flushed when
+ * the window elapses or when it reaches its maximum size, whichever comes
+ * first. Every caller still gets its own outcome (created, reactivated or
+ * duplicate).
+ * </p>
+ * <p>
+ * If the batched transaction fails as a whole (e.g. one row violates a column
+ * constraint), nothing was committed: its items are retried one by one, so a
+ * single bad item only fails its own caller.
+ * </p>
+ * <p>
+ * <b>Threading:</b> not thread-safe. Confined to the {@code EmployeeVerticle}
+ * event loop, like the service that calls it.
+ * </p>
+ */
+public class UpsertCoalescer {
+
+  private static final Logger logger = LoggerFactory.getLogger(UpsertCoalescer.class);
+
+  private final Vertx vertx;
+  private final EmployeeRepository repository;
+  private final long windowMs;
+  private final int maxBatch;
+
+  private List<Pending> pending = new ArrayList<>();
+  private long timer = -1;
+
+  private final DistributionSummary batchSizes;
+
+  /**
+   * Constructs an UpsertCoalescer.
+   *
+   * @param vertx      the Vertx instance used for the flush timer
+   * @param repository the repository to write through
+   * @param windowMs   how long the first create of a batch waits for others
+   * @param maxBatch   batch size that triggers an immediate flush
+   */
+  public UpsertCoalescer(Vertx vertx, EmployeeRepository repository, long windowMs, int maxBatch) {
+    this.vertx = vertx;
+    this.repository = repository;
+    this.windowMs = windowMs;
+    this.maxBatch = maxBatch;
+
+    MeterRegistry registry = BackendRegistries.getDefaultNow();
+    batchSizes = registry != null
+        ? DistributionSummary.builder("employee_group_commit_batch_size")
+            .description("Creates written per group commit")
+            .register(registry)
+        : null;
+  }
+
+  /**
+   * Queues an upsert for the next group commit.
+   *
+   * @param employee the employee data to persist
+   * @return a Future containing the outcome for this employee
+   */
+  public Future<UpsertOutcome> upsert(EmployeeDTO employee) {
+    Promise<UpsertOutcome> promise = Promise.promise();
+    pending.add(new Pending(employee, promise));
+    if (pending.size() >= maxBatch) {
+      flush();
+    } else if (timer == -1) {
+      timer = vertx.setTimer(windowMs, id -> {
+        timer = -1;
+        flush();
+      });
+    }
+    return promise.future();
+  }
+
+  /**
+   * Writes out everything queued so far.
+   */
+  private void flush() {
+    if (timer != -1) {
+      vertx.cancelTimer(timer);
+      timer = -1;
+    }
+    if (pending.isEmpty()) {
+      return;
+    }
+    List<Pending> batch = pending;
+    pending = new ArrayList<>();
+    if (batchSizes != null) {
+      batchSizes.record(batch.size());
+    }
+
+    if (batch.size() == 1) {
+      Pending only = batch.get(0);
+      repository.upsert(only.employee).onComplete(only.promise);
+      return;
+    }
+
+    List<EmployeeDTO> employees = new ArrayList<>(batch.size());
+    batch.forEach(item -> employees.add(item.employee));
+    repository.upsertBatch(employees)
+        .onSuccess(outcomes -> {
+          // Reactivated employees already carry the ID of their record
+          for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).promise.complete(outcomes.get(i));
+          }
+        })
+        .onFailure(err -> {
+          logger.warn("Group commit of {} creates failed, retrying individually: {}", batch.size(),
+              err.getMessage());
+          batch.forEach(item -> repository.upsert(item.employee).onComplete(item.promise));
+        });
+  }
+
+  /**
+   * A queued create and the caller waiting for it.
+   */
+  private static final class Pending {
+    private final EmployeeDTO employee;
+    private final Promise<UpsertOutcome> promise;
+
+    private Pending(EmployeeDTO employee, Promise<UpsertOutcome> promise) {
+      this.employee = employee;
+      this.promise = promise;
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package ziadatari.ReactiveAPI.repository;
+
+/**
+ * Result of an atomic employee upsert, derived from MySQL's affected-row
+ * count for {@code INSERT ... ON DUPLICATE KEY UPDATE}.
+ */
+public enum UpsertOutcome {
+  /** No record with this name and department existed; a new row was inserted. */
+  CREATED,
+  /** A soft-deleted record was found and reactivated. */
+  REACTIVATED,
+  /** An active record already exists; nothing was written. */
+  DUPLICATE;
+
+  /**
+   * Maps an affected-row count to an outcome.
+   *
+   * @param affectedRows 1 for insert, 2 for update, 0 for no change
+   * @return the matching outcome
+   */
+  public static UpsertOutcome fromAffectedRows(int affectedRows) {
+    switch (affectedRows) {
+      case 1:
+        return CREATED;
+      case 2:
+        return REACTIVATED;
+      default:
+        return DUPLICATE;
+    }
+  }
+}
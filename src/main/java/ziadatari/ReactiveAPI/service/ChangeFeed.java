@@ -0,0 +1,174 @@
+package ziadatari.ReactiveAPI.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.micrometer.backends.BackendRegistries;
+import ziadatari.ReactiveAPI.dto.EmployeeDTO;
+import ziadatari.ReactiveAPI.exception.ErrorCode;
+import ziadatari.ReactiveAPI.exception.ServiceException;
+
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Ordered feed of committed employee mutations.
+ * <p>
+ * Every write path of {@link EmployeeService} reports what it changed here.
+ * Each change gets the next version number and is published on
+ * {@link #ADDRESS}, where the web layer fans it out to SSE and WebSocket
+ * subscribers. The most recent changes are also kept in a bounded history, so
+ * a subscriber that reconnects can resume from the last version it saw instead
+ * of reloading the whole list.
+ * </p>
+ * <p>
+ * A version is {@code <epoch>-<sequence>}: a random epoch drawn when the feed
+ * is created, and a sequence number counting changes from 1. A version from
+ * before a restart carries another epoch and is reported as expired rather
+ * than silently skipping changes, however many writes either run made.
+ * </p>
+ * <p>
+ * <b>Threading:</b> not thread-safe. Confined to the event loop of the
+ * {@code EmployeeVerticle} that owns it.
+ * </p>
+ */
+public class ChangeFeed {
+
+  /** Event Bus address on which every change is published. */
+  public static final String ADDRESS = "employees.changes";
+
+  /**
+   * Kinds of change.
+   */
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED,
+    REACTIVATED
+  }
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private final Vertx vertx;
+  private final int capacity;
+  private final Deque<JsonObject> history = new ArrayDeque<>();
+  /** Identifies this run of the feed. */
+  private final String epoch = Long.toHexString(RANDOM.nextLong());
+  private long sequence;
+
+  private final Counter published;
+
+  /**
+   * Creates a feed.
+   *
+   * @param vertx    the Vertx instance used to publish changes
+   * @param capacity how many recent changes are kept for resuming subscribers
+   */
+  public ChangeFeed(Vertx vertx, int capacity) {
+    this.vertx = vertx;
+    this.capacity = capacity;
+
+    MeterRegistry registry = BackendRegistries.getDefaultNow();
+    published = registry != null ? registry.counter("employee_changes_published_total") : null;
+  }
+
+  /**
+   * Records and publishes a committed change.
+   * <p>
+   * The event carries {@code version}, {@code type}, {@code id}, {@code at}
+   * (the modification timestamp) and {@code employee}: the written fields for
+   * creations, reactivations and updates (an update overwrites name,
+   * department and salary), or only the audit fields for deletions.
+   * </p>
+   *
+   * @param type what happened
+   * @param dto  the written employee, carrying its ID
+   */
+  public void publish(Type type, EmployeeDTO dto) {
+    JsonObject employee = new JsonObject().put("id", dto.getId());
+    if (type != Type.DELETED) {
+      employee.put("name", dto.getName())
+          .put("department", dto.getDepartment())
+          .put("salary", dto.getSalary());
+    }
+    employee.put("lastModifiedBy", dto.getLastModifiedBy())
+        .put("lastModifiedAt", dto.getLastModifiedAt());
+
+    JsonObject event = new JsonObject()
+        .put("version", version(++sequence))
+        .put("type", type.name())
+        .put("id", dto.getId())
+        .put("at", dto.getLastModifiedAt())
+        .put("employee", employee);
+
+    history.addLast(event);
+    if (history.size() > capacity) {
+      history.removeFirst();
+    }
+    if (published != null) {
+      published.increment();
+    }
+    vertx.eventBus().publish(ADDRESS, event);
+  }
+
+  /**
+   * @return the version of the latest change
+   */
+  public String current() {
+    return version(sequence);
+  }
+
+  /**
+   * Extracts the sequence number of a version issued by a feed, to order
+   * changes of the same run.
+   *
+   * @param version a version issued by a feed
+   * @return its sequence number
+   */
+  public static long sequence(String version) {
+    return Long.parseLong(version.substring(version.lastIndexOf('-') + 1));
+  }
+
+  private String version(long sequence) {
+    return epoch + '-' + sequence;
+  }
+
+  /**
+   * Returns the changes made after a version, oldest first.
+   *
+   * @param since the last version the caller has seen
+   * @return the missed changes (empty if the caller is up to date)
+   * @throws ServiceException with CHANGES_EXPIRED if some of the missed
+   *                          changes are no longer retained, or the version
+   *                          was not issued by this run of the feed
+   */
+  public JsonArray since(String since) {
+    int dash = since.lastIndexOf('-');
+    if (dash != epoch.length() || !since.startsWith(epoch)) {
+      // Issued before a restart, or not a version at all
+      throw new ServiceException(ErrorCode.CHANGES_EXPIRED);
+    }
+    long after;
+    try {
+      after = Long.parseLong(since.substring(dash + 1));
+    } catch (NumberFormatException e) {
+      throw new ServiceException(ErrorCode.CHANGES_EXPIRED);
+    }
+    // The history holds the last history.size() sequence numbers
+    long oldest = sequence - history.size() + 1;
+    if (after < oldest - 1 || after > sequence) {
+      throw new ServiceException(ErrorCode.CHANGES_EXPIRED);
+    }
+    JsonArray missed = new JsonArray();
+    long skipped = history.size() - (sequence - after);
+    for (JsonObject event : history) {
+      if (skipped-- <= 0) {
+        missed.add(event);
+      }
+    }
+    return missed;
+  }
+}
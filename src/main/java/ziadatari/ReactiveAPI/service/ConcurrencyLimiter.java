@@ -0,0 +1,126 @@
+package ziadatari.ReactiveAPI.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.micrometer.backends.BackendRegistries;
+import ziadatari.ReactiveAPI.exception.ErrorCode;
+import ziadatari.ReactiveAPI.exception.ServiceException;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many tasks of one kind run against the database at the same time.
+ * <p>
+ * Tasks beyond the window wait in a bounded FIFO queue and start in arrival
+ * order as running tasks complete, so concurrent callers share the window
+ * fairly and one large caller cannot monopolize it. When the queue is full, new
+ * tasks are rejected with {@link ErrorCode#SERVICE_UNAVAILABLE} instead of
+ * piling up.
+ * </p>
+ * <p>
+ * Waiting happens before the task starts, so callers should admit work here
+ * first and apply timeouts (such as the Circuit Breaker) inside the task: time
+ * spent queued must not count as a database failure.
+ * </p>
+ * <p>
+ * <b>Threading:</b> not thread-safe. Confined to the event loop of the
+ * {@code EmployeeVerticle} that owns it.
+ * </p>
+ */
+public class ConcurrencyLimiter {
+
+  private final int maxConcurrent;
+  private final int maxQueued;
+  private final Queue<Runnable> queue = new ArrayDeque<>();
+  private int active;
+
+  private final Counter rejections;
+  private final Timer queueWait;
+
+  /**
+   * Creates a limiter and registers its metrics under the given name.
+   *
+   * @param name          the limiter name, used as the {@code limiter} metric
+   *                      tag
+   * @param maxConcurrent maximum number of tasks running at once
+   * @param maxQueued     maximum number of tasks waiting for a slot
+   */
+  public ConcurrencyLimiter(String name, int maxConcurrent, int maxQueued) {
+    this.maxConcurrent = maxConcurrent;
+    this.maxQueued = maxQueued;
+
+    MeterRegistry registry = BackendRegistries.getDefaultNow();
+    if (registry != null) {
+      Tags tags = Tags.of("limiter", name);
+      registry.gauge("employee_limiter_queue_depth", tags, queue, Queue::size);
+      registry.gauge("employee_limiter_active", tags, this, limiter -> limiter.active);
+      rejections = registry.counter("employee_limiter_rejections_total", tags);
+      queueWait = Timer.builder("employee_limiter_queue_wait_seconds")
+          .description("Time spent waiting for a concurrency slot")
+          .tags(tags)
+          .register(registry);
+    } else {
+      rejections = null;
+      queueWait = null;
+    }
+  }
+
+  /**
+   * Runs a task as soon as a slot is free.
+   *
+   * @param task starts the work and returns its completion
+   * @return a Future completed with the task's result, or failed with
+   *         SERVICE_UNAVAILABLE if the queue is full
+   */
+  public <T> Future<T> submit(Supplier<Future<T>> task) {
+    if (active < maxConcurrent) {
+      record(0);
+      return run(task);
+    }
+    if (queue.size() >= maxQueued) {
+      if (rejections != null) {
+        rejections.increment();
+      }
+      return Future.failedFuture(new ServiceException(ErrorCode.SERVICE_UNAVAILABLE,
+          "Too many concurrent requests of this kind, please retry later"));
+    }
+
+    Promise<T> promise = Promise.promise();
+    long queuedAt = System.nanoTime();
+    queue.add(() -> {
+      record(System.nanoTime() - queuedAt);
+      run(task).onComplete(promise);
+    });
+    return promise.future();
+  }
+
+  private <T> Future<T> run(Supplier<Future<T>> task) {
+    active++;
+    Future<T> result;
+    try {
+      result = task.get();
+    } catch (RuntimeException e) {
+      result = Future.failedFuture(e);
+    }
+    return result.onComplete(ar -> {
+      active--;
+      Runnable next = queue.poll();
+      if (next != null) {
+        next.run();
+      }
+    });
+  }
+
+  private void record(long waitNanos) {
+    if (queueWait != null) {
+      queueWait.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+}
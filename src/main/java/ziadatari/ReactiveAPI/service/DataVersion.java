@@ -0,0 +1,65 @@
+package ziadatari.ReactiveAPI.service;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+
+import java.security.SecureRandom;
+
+/**
+ * Monotonically increasing version of the employee table, used to build
+ * strong ETags for conditional GETs.
+ * <p>
+ * The version lives in a Vert.x local shared map, so the single
+ * {@code EmployeeVerticle} that bumps it after each successful write and the
+ * {@code HttpVerticle} instances that read it on their own event loops see the
+ * same value without an Event Bus round trip. The counter starts at zero on
+ * every boot; next to it, the map holds a random epoch drawn at startup, which
+ * ETags include so that a tag issued before a restart never matches again,
+ * however many writes either run made.
+ * </p>
+ */
+public class DataVersion {
+
+  private static final String MAP_NAME = "employee.data-version";
+  private static final String KEY = "version";
+  private static final String EPOCH_KEY = "epoch";
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private final LocalMap<String, Long> map;
+
+  /**
+   * Attaches to the version shared by all verticles of a Vertx instance,
+   * drawing its epoch on first use.
+   *
+   * @param vertx the Vertx instance
+   */
+  public DataVersion(Vertx vertx) {
+    this.map = vertx.sharedData().getLocalMap(MAP_NAME);
+    map.computeIfAbsent(EPOCH_KEY, k -> RANDOM.nextLong());
+    map.putIfAbsent(KEY, 0L);
+  }
+
+  /**
+   * @return the random epoch of this boot, fixed for the life of the Vertx
+   *         instance
+   */
+  public long epoch() {
+    return map.get(EPOCH_KEY);
+  }
+
+  /**
+   * @return the current version
+   */
+  public long current() {
+    return map.get(KEY);
+  }
+
+  /**
+   * Advances the version after a write has been committed.
+   *
+   * @return the new version
+   */
+  public long bump() {
+    return map.compute(KEY, (k, v) -> v + 1);
+  }
+}
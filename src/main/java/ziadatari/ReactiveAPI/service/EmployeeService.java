@@ -1,13 +1,41 @@
 package ziadatari.ReactiveAPI.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.circuitbreaker.CircuitBreaker;
+import io.vertx.circuitbreaker.CircuitBreakerState;
 import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.micrometer.backends.BackendRegistries;
+import ziadatari.ReactiveAPI.dto.BatchItemResult;
 import ziadatari.ReactiveAPI.dto.EmployeeDTO;
+import ziadatari.ReactiveAPI.dto.EmployeeField;
+import ziadatari.ReactiveAPI.dto.EmployeeQueryDTO;
+import ziadatari.ReactiveAPI.dto.EncodedEmployeeList;
+import ziadatari.ReactiveAPI.dto.ExportFormat;
 import ziadatari.ReactiveAPI.exception.ErrorCode;
 import ziadatari.ReactiveAPI.exception.ServiceException;
+import ziadatari.ReactiveAPI.repository.EmployeeCursor;
 import ziadatari.ReactiveAPI.repository.EmployeeRepository;
+import ziadatari.ReactiveAPI.repository.UpsertCoalescer;
+import ziadatari.ReactiveAPI.repository.UpsertOutcome;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 // Business Logic
 
@@ -19,30 +47,428 @@ import java.util.List;
  */
 public class EmployeeService {
 
+  /** Page size used when a client paginates without an explicit limit. */
+  public static final int DEFAULT_PAGE_SIZE = 100;
+  /** Upper bound for a single page to keep replies bounded in memory. */
+  public static final int MAX_PAGE_SIZE = 1000;
+  /** Upper bound for a multi-get, matching the batch creation limit. */
+  public static final int MAX_MGET_IDS = 100;
+  /** Upper bound for sort keys, which also bounds the number of query shapes. */
+  public static final int MAX_SORT_KEYS = 3;
+
+  /** List cache key for the unpaginated active list. */
+  private static final String ALL_KEY = "all";
+
   private final EmployeeRepository repository;
   private final CircuitBreaker circuitBreaker;
+  /**
+   * Read-through cache for list queries (full list and keyset pages), holding
+   * the serialized JSON so a hit costs no encoding at all.
+   */
+  private final TtlCache<String, EncodedEmployeeList> listCache;
+  /** Read-through cache for single records, keyed by employee ID. */
+  private final TtlCache<String, EmployeeDTO> recordCache;
+  /**
+   * List queries currently running against the database, keyed like the list
+   * cache. Identical concurrent reads share one query (single-flight).
+   */
+  private final Map<String, Flight> inFlight = new HashMap<>();
+  /** Database calls avoided by joining an in-flight query. */
+  private final Counter savedCalls;
+  /** Table version behind the HTTP ETags, bumped by every write. */
+  private final DataVersion dataVersion;
+  /** Committed mutations, published to change feed subscribers. */
+  private final ChangeFeed changes;
+  /** Columnar copy of the active employees, answering salary statistics. */
+  private final EmployeeSnapshot snapshot;
+  /** Group commit for single creates, or null to write each one directly. */
+  private final UpsertCoalescer coalescer;
+  /**
+   * Caps concurrent batch creations so they cannot take every write connection
+   * away from single-item requests.
+   */
+  private final ConcurrencyLimiter batchLimiter;
 
   /**
    * Constructs an EmployeeService with its dependencies.
    *
    * @param employeeRepository the repository for database access
    * @param circuitBreaker     the circuit breaker for fault tolerance
+   * @param listCache          cache for list queries
+   * @param recordCache        cache for single records
+   * @param dataVersion        the table version to bump after writes
+   * @param changes            the feed that committed mutations are reported to
+   * @param snapshot           the analytics snapshot that committed mutations
+   *                           are applied to
+   * @param coalescer          group commit for single creates, or null if
+   *                           disabled
+   * @param batchLimiter       admission control for batch creations
    */
-  public EmployeeService(EmployeeRepository employeeRepository, CircuitBreaker circuitBreaker) {
+  public EmployeeService(EmployeeRepository employeeRepository, CircuitBreaker circuitBreaker,
+      TtlCache<String, EncodedEmployeeList> listCache, TtlCache<String, EmployeeDTO> recordCache,
+      DataVersion dataVersion, ChangeFeed changes, EmployeeSnapshot snapshot, UpsertCoalescer coalescer,
+      ConcurrencyLimiter batchLimiter) {
     this.repository = employeeRepository;
     this.circuitBreaker = circuitBreaker;
+    this.listCache = listCache;
+    this.recordCache = recordCache;
+    this.dataVersion = dataVersion;
+    this.changes = changes;
+    this.snapshot = snapshot;
+    this.coalescer = coalescer;
+    this.batchLimiter = batchLimiter;
+
+    MeterRegistry registry = BackendRegistries.getDefaultNow();
+    savedCalls = registry != null ? registry.counter("employee_db_calls_saved_total") : null;
   }
 
   /**
    * Fetches all active employees.
-   * Wrapped in a Circuit Breaker to prevent resource exhaustion if the DB is
-   * slow/down.
+   * Served from the list cache when possible; otherwise wrapped in a Circuit
+   * Breaker to prevent resource exhaustion if the DB is slow/down.
+   *
+   * @return a Future containing the employees, encoded as a JSON array
+   */
+  public Future<EncodedEmployeeList> getAllEmployees() {
+    return cachedList(ALL_KEY, repository::findAllAsJson);
+  }
+
+  /**
+   * Fetches a single active employee by ID.
+   * Served from the record cache when possible.
+   *
+   * @param id the employee ID
+   * @return a Future containing the employee, or failing with
+   *         EMPLOYEE_NOT_FOUND
+   */
+  public Future<EmployeeDTO> getEmployee(String id) {
+    if (id == null || id.isBlank()) {
+      return Future.failedFuture(new ServiceException(ErrorCode.EMPLOYEE_ID_REQUIRED));
+    }
+    EmployeeDTO cached = recordCache.get(id);
+    if (cached != null) {
+      return Future.succeededFuture(cached);
+    }
+    long generation = recordCache.generation();
+    return circuitBreaker.<EmployeeDTO>execute(promise -> {
+      repository.findById(id).onSuccess(promise::complete).onFailure(promise::fail);
+    }).compose(dto -> {
+      if (dto == null) {
+        return Future.failedFuture(new ServiceException(ErrorCode.EMPLOYEE_NOT_FOUND));
+      }
+      recordCache.put(id, dto, generation);
+      return Future.succeededFuture(dto);
+    });
+  }
+
+  /**
+   * Resolves several employees by ID.
+   * Cached records are served directly; all misses are fetched together with a
+   * single {@code IN} query and added to the record cache.
    *
-   * @return a Future containing a list of employees
+   * @param ids the employee IDs (at most {@link #MAX_MGET_IDS})
+   * @return a Future containing the active employees found, in request order
    */
-  public Future<List<EmployeeDTO>> getAllEmployees() {
+  public Future<List<EmployeeDTO>> getEmployees(List<String> ids) {
+    if (ids.size() > MAX_MGET_IDS) {
+      return Future.failedFuture(new ServiceException(ErrorCode.VALIDATION_ERROR,
+          "At most " + MAX_MGET_IDS + " ids can be fetched at once"));
+    }
+
+    Map<String, EmployeeDTO> found = new HashMap<>();
+    List<String> misses = new ArrayList<>();
+    for (String id : new LinkedHashSet<>(ids)) {
+      EmployeeDTO cached = recordCache.get(id);
+      if (cached != null) {
+        found.put(id, cached);
+      } else {
+        misses.add(id);
+      }
+    }
+
+    Future<List<EmployeeDTO>> loaded;
+    if (misses.isEmpty()) {
+      loaded = Future.succeededFuture(Collections.emptyList());
+    } else {
+      long generation = recordCache.generation();
+      loaded = circuitBreaker.<List<EmployeeDTO>>execute(promise -> {
+        repository.findByIds(misses).onSuccess(promise::complete).onFailure(promise::fail);
+      }).onSuccess(list -> list.forEach(dto -> recordCache.put(dto.getId(), dto, generation)));
+    }
+
+    return loaded.map(list -> {
+      list.forEach(dto -> found.put(dto.getId(), dto));
+      List<EmployeeDTO> result = new ArrayList<>();
+      for (String id : new LinkedHashSet<>(ids)) {
+        EmployeeDTO dto = found.get(id);
+        if (dto != null) {
+          result.add(dto);
+        }
+      }
+      return result;
+    });
+  }
+
+  /**
+   * Fetches active employees matching a filter, sort and/or page query.
+   * Served from the list cache when possible; otherwise wrapped in a Circuit
+   * Breaker.
+   *
+   * @param query the query description
+   * @return a Future containing the matching employees, encoded as a JSON array
+   */
+  public Future<EncodedEmployeeList> findEmployees(EmployeeQueryDTO query) {
+    ServiceException invalid = validateQuery(query);
+    if (invalid != null) {
+      return Future.failedFuture(invalid);
+    }
+    return cachedList(query.cacheKey(), () -> repository.findByQuery(query));
+  }
+
+  /**
+   * Fetches the employees modified after a point in time, for delta sync.
+   * <p>
+   * Soft-deleted employees are included with {@code active = false}, so a
+   * client can remove them from its copy. Results bypass the list cache, since
+   * every client polls with its own timestamp, and are wrapped in the Circuit
+   * Breaker.
+   * </p>
+   *
+   * @param since  the exclusive lower bound, an ISO-8601 instant
+   * @param after  the ID tie-breaker for employees modified exactly at
+   *               {@code since}, or null
+   * @param limit  the page size, or null for the default
+   * @param fields the fieldset to read
+   * @return a Future containing the changed employees, oldest first, encoded
+   *         as a JSON array
+   */
+  public Future<EncodedEmployeeList> getModifiedSince(String since, String after, Integer limit,
+      Set<EmployeeField> fields) {
+    if (since == null) {
+      return Future.failedFuture(new ServiceException(ErrorCode.VALIDATION_ERROR, "since is required"));
+    }
+    try {
+      Instant.parse(since);
+    } catch (DateTimeParseException e) {
+      return Future.failedFuture(new ServiceException(ErrorCode.VALIDATION_ERROR,
+          "since must be an ISO-8601 instant, e.g. 2024-06-10T09:12:03Z"));
+    }
+    if (after != null && !EmployeeRepository.isValidId(after)) {
+      return Future.failedFuture(new ServiceException(ErrorCode.VALIDATION_ERROR, "after must be an employee ID"));
+    }
+    int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+    if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+      return Future.failedFuture(new ServiceException(ErrorCode.VALIDATION_ERROR,
+          "limit must be between 1 and " + MAX_PAGE_SIZE));
+    }
     return circuitBreaker.execute(promise -> {
-      repository.findAll().onSuccess(promise::complete).onFailure(promise::fail);
+      repository.findChangedSince(since, after, pageSize, fields)
+          .onSuccess(promise::complete).onFailure(promise::fail);
+    });
+  }
+
+  /**
+   * Validates a list query before it is translated into SQL.
+   *
+   * @param query the query description
+   * @return the validation failure, or null if the query is valid
+   */
+  private ServiceException validateQuery(EmployeeQueryDTO query) {
+    Integer limit = query.getLimit();
+    if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+      return new ServiceException(ErrorCode.VALIDATION_ERROR, "limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    if (query.getMinSalary() != null && query.getMaxSalary() != null
+        && query.getMinSalary() > query.getMaxSalary()) {
+      return new ServiceException(ErrorCode.VALIDATION_ERROR, "minSalary cannot be greater than maxSalary");
+    }
+    if (query.getSort().size() > MAX_SORT_KEYS) {
+      return new ServiceException(ErrorCode.VALIDATION_ERROR, "At most " + MAX_SORT_KEYS + " sort keys are allowed");
+    }
+    Set<String> sortFields = new HashSet<>();
+    for (String key : query.getSort()) {
+      String field = key.startsWith("-") ? key.substring(1) : key;
+      if (!EmployeeQueryDTO.SORTABLE_FIELDS.contains(field) || !sortFields.add(field)) {
+        return new ServiceException(ErrorCode.VALIDATION_ERROR, "Invalid sort key: " + key);
+      }
+    }
+    if (query.getAfter() != null && query.hasCustomSort()) {
+      return new ServiceException(ErrorCode.VALIDATION_ERROR, "after can only be used with the default id order");
+    }
+    if (query.getAfter() != null && !EmployeeRepository.isValidId(query.getAfter())) {
+      return new ServiceException(ErrorCode.VALIDATION_ERROR, "after must be an employee ID");
+    }
+    return null;
+  }
+
+  /**
+   * Serves a list query from the cache, falling back to the database through the
+   * Circuit Breaker and filling the cache on success.
+   * <p>
+   * On a miss, callers asking for the same key while a query is already running
+   * share that query's future instead of issuing their own. A flight is only
+   * joined if no write invalidated the cache since it started, so a reader
+   * never receives data older than its own request.
+   * </p>
+   *
+   * @param key    the cache key identifying the query
+   * @param loader the database query to run on a miss
+   * @return a Future containing the (possibly cached) list
+   */
+  private Future<EncodedEmployeeList> cachedList(String key, Supplier<Future<EncodedEmployeeList>> loader) {
+    EncodedEmployeeList cached = listCache.get(key);
+    if (cached != null) {
+      return Future.succeededFuture(cached);
+    }
+    long generation = listCache.generation();
+    Flight running = inFlight.get(key);
+    if (running != null && running.generation == generation) {
+      if (savedCalls != null) {
+        savedCalls.increment();
+      }
+      return running.future;
+    }
+
+    Future<EncodedEmployeeList> future = circuitBreaker.<EncodedEmployeeList>execute(promise -> {
+      loader.get().onSuccess(promise::complete).onFailure(promise::fail);
+    }).onSuccess(list -> listCache.put(key, list, generation));
+    Flight flight = new Flight(generation, future);
+    inFlight.put(key, flight);
+    future.onComplete(ar -> inFlight.remove(key, flight));
+    return future;
+  }
+
+  /**
+   * A list query in progress, with the cache generation it started at.
+   */
+  private static final class Flight {
+    private final long generation;
+    private final Future<EncodedEmployeeList> future;
+
+    private Flight(long generation, Future<EncodedEmployeeList> future) {
+      this.generation = generation;
+      this.future = future;
+    }
+  }
+
+  /**
+   * Reports a committed write to the change feed and the analytics snapshot.
+   *
+   * @param type what happened
+   * @param dto  the written employee, carrying its ID
+   */
+  private void committed(ChangeFeed.Type type, EmployeeDTO dto) {
+    changes.publish(type, dto);
+    snapshot.apply(type, dto);
+  }
+
+  /**
+   * Invalidates cached reads after a successful write.
+   * Any write can change list results, so all list entries are dropped; record
+   * entries are dropped only for the IDs that were actually modified. The data
+   * version is bumped as well, which changes every ETag handed out so far.
+   * Reads move to the primary first, so neither the caches nor a response
+   * tagged with the new version can be filled from a replica that lacks the
+   * write.
+   *
+   * @param ids the IDs of existing records that were modified
+   */
+  private void invalidate(Collection<String> ids) {
+    repository.recordWrite();
+    listCache.invalidateAll();
+    ids.forEach(recordCache::invalidate);
+    dataVersion.bump();
+  }
+
+  /**
+   * Returns the change feed position and, when resuming, the changes missed
+   * since a version.
+   *
+   * @param since the last version the subscriber has seen, or null to start
+   *              from now
+   * @return a Future containing {@code version} (the latest version) and
+   *         {@code events} (the missed changes, oldest first), or failing with
+   *         CHANGES_EXPIRED if they are no longer retained
+   */
+  public Future<JsonObject> getChangesSince(String since) {
+    try {
+      JsonArray events = since == null ? new JsonArray() : changes.since(since);
+      return Future.succeededFuture(new JsonObject()
+          .put("version", changes.current())
+          .put("events", events));
+    } catch (ServiceException e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  /**
+   * Returns salary statistics of the active employees, overall and per
+   * department (see {@link EmployeeSnapshot#stats()}).
+   * <p>
+   * Answered from the in-process snapshot, without a database query, once it
+   * has been loaded; the first call after startup may wait for the load.
+   * </p>
+   *
+   * @return a Future containing the statistics
+   */
+  public Future<JsonObject> getSalaryStats() {
+    if (snapshot.isLoaded()) {
+      return Future.succeededFuture(snapshot.stats());
+    }
+    return reloadSnapshot().map(v -> snapshot.stats());
+  }
+
+  /**
+   * Reloads the analytics snapshot from the primary. Writes committed in the
+   * meantime are replayed on top of the loaded rows.
+   *
+   * @return a Future that completes once the snapshot is replaced
+   */
+  public Future<Void> reloadSnapshot() {
+    return snapshot.reload(() -> repository.findAllOnPrimary(EmployeeSnapshot.FIELDS));
+  }
+
+  /**
+   * Opens a server-side cursor over all active employees for streaming.
+   * <p>
+   * Only the cursor opening is guarded by the Circuit Breaker; the subsequent
+   * chunk reads are paced by the client and may legitimately outlive the
+   * breaker timeout.
+   * </p>
+   *
+   * @param fields the fieldset to read for each row
+   * @return a Future containing the opened cursor
+   */
+  public Future<EmployeeCursor> openEmployeeCursor(Set<EmployeeField> fields) {
+    return openGuarded(() -> repository.openCursor(fields));
+  }
+
+  /**
+   * Opens a server-side cursor for a full-table export.
+   * <p>
+   * Guarded like {@link #openEmployeeCursor(Set)}. Exports bypass the caches:
+   * they read the whole table once, so caching them would only evict useful
+   * entries.
+   * </p>
+   *
+   * @param fields          the fieldset to read for each row
+   * @param includeInactive whether soft-deleted employees are exported too
+   * @param format          the encoding of each chunk
+   * @return a Future containing the opened cursor
+   */
+  public Future<EmployeeCursor> openExportCursor(Set<EmployeeField> fields, boolean includeInactive,
+      ExportFormat format) {
+    return openGuarded(() -> repository.openExportCursor(fields, includeInactive, format));
+  }
+
+  private Future<EmployeeCursor> openGuarded(Supplier<Future<EmployeeCursor>> open) {
+    return circuitBreaker.execute(promise -> {
+      open.get().onSuccess(cursor -> {
+        // If the breaker already timed out, nobody will ever read this cursor
+        if (!promise.tryComplete(cursor)) {
+          cursor.close();
+        }
+      }).onFailure(promise::fail);
     });
   }
 
@@ -63,79 +489,264 @@ public class EmployeeService {
    * Orchestrates the creation of a batch of employees (Part of 3.4 Schema
    * Update).
    * <p>
-   * This method processes a list of employees concurrently using
-   * {@link io.vertx.core.CompositeFuture}.
-   * It delegates the actual creation logic (including business validation and
-   * duplicate checks)
-   * to {@link #createEmployeeLogic(EmployeeDTO)} for each item.
+   * The whole batch is validated up front, then all (name, department) conflicts
+   * are resolved with a single lookup query. New employees and reactivations of
+   * soft-deleted ones are written in one transaction using batched statements,
+   * so a batch costs a constant number of round trips regardless of its size.
+   * If any item is invalid or an active duplicate, nothing is written.
+   * </p>
+   * <p>
+   * Batches are admitted through a concurrency limiter: only a few run at once,
+   * the rest wait in FIFO order. The Circuit Breaker timeout starts once a
+   * batch is admitted, so queueing behind other batches is not counted as a
+   * database failure.
    * </p>
    *
    * @param dtos list of employee data to create
    * @return a Future containing the list of successfully created employees
    */
   public Future<List<EmployeeDTO>> createBatch(List<EmployeeDTO> dtos) {
-    return circuitBreaker.execute(promise -> {
-      List<Future> futures = dtos.stream()
-          .map(this::createEmployeeLogic)
-          .collect(java.util.stream.Collectors.toList());
-
-      io.vertx.core.CompositeFuture.all(futures)
-          .onSuccess(cf -> {
-            List<EmployeeDTO> results = cf.list();
-            promise.complete(results);
-          })
-          .onFailure(promise::fail);
+    return batchLimiter.submit(() -> circuitBreaker.<List<EmployeeDTO>>execute(promise -> {
+      createBatchLogic(dtos).onSuccess(promise::complete).onFailure(promise::fail);
+    }));
+  }
+
+  /**
+   * Creates a batch of employees item by item, reporting an outcome for each
+   * instead of failing the whole batch (partial success).
+   * <p>
+   * Items that fail validation or repeat an earlier item's name and department
+   * are reported as invalid or conflicting. All other items are written
+   * together as one batched upsert, whose per-statement outcome tells created,
+   * reactivated and conflicting (already active) items apart. A failure of the
+   * batched write itself still fails the request as a whole; its transaction is
+   * then rolled back, so nothing was written.
+   * </p>
+   *
+   * @param dtos list of employee data to create
+   * @return a Future containing one result per item, in request order
+   */
+  public Future<List<BatchItemResult>> createBatchPartial(List<EmployeeDTO> dtos) {
+    return batchLimiter.submit(() -> circuitBreaker.<List<BatchItemResult>>execute(promise -> {
+      createBatchPartialLogic(dtos).onSuccess(promise::complete).onFailure(promise::fail);
+    }));
+  }
+
+  /**
+   * Internal logic for partial-success batch creation.
+   *
+   * @param dtos the employees to create
+   * @return a Future with one result per item, in request order
+   */
+  private Future<List<BatchItemResult>> createBatchPartialLogic(List<EmployeeDTO> dtos) {
+    BatchItemResult[] results = new BatchItemResult[dtos.size()];
+    List<Integer> positions = new ArrayList<>();
+    List<EmployeeDTO> writes = new ArrayList<>();
+    Set<String> seen = new HashSet<>();
+    String timestamp = java.time.Instant.now().toString();
+
+    for (int i = 0; i < dtos.size(); i++) {
+      EmployeeDTO dto = dtos.get(i);
+      ServiceException invalid = validateForCreate(dto);
+      if (invalid != null) {
+        results[i] = BatchItemResult.rejected(i, BatchItemResult.Status.INVALID, invalid.getErrorCode(),
+            invalid.getMessage());
+      } else if (!seen.add(conflictKey(dto.getName(), dto.getDepartment()))) {
+        results[i] = conflict(i);
+      } else {
+        dto.setLastModifiedAt(timestamp);
+        positions.add(i);
+        writes.add(dto);
+      }
+    }
+
+    if (writes.isEmpty()) {
+      return Future.succeededFuture(Arrays.asList(results));
+    }
+
+    // Reactivated items come back with the ID of their record, recovered
+    // before the transaction commits, so every written item gets its event
+    return repository.upsertBatch(writes).map(outcomes -> {
+      List<String> reactivated = new ArrayList<>();
+      for (int k = 0; k < writes.size(); k++) {
+        int i = positions.get(k);
+        EmployeeDTO dto = writes.get(k);
+        switch (outcomes.get(k)) {
+          case CREATED:
+            results[i] = BatchItemResult.written(i, BatchItemResult.Status.CREATED, dto);
+            committed(ChangeFeed.Type.CREATED, dto);
+            break;
+          case REACTIVATED:
+            results[i] = BatchItemResult.written(i, BatchItemResult.Status.REACTIVATED, dto);
+            reactivated.add(dto.getId());
+            committed(ChangeFeed.Type.REACTIVATED, dto);
+            break;
+          default:
+            results[i] = conflict(i);
+            break;
+        }
+      }
+      invalidate(reactivated);
+      return Arrays.asList(results);
     });
   }
 
   /**
-   * Internal logic for employee creation, including input validation and
-   * duplicate checks.
+   * Writes one chunk of a bulk import, with the same per-item semantics as
+   * {@link #createBatchPartial(List)}.
+   * <p>
+   * Chunks share the batch admission window, so an import cannot starve
+   * interactive writes. They are not bound by the Circuit Breaker timeout,
+   * which is sized for interactive requests, but are refused while the breaker
+   * is open.
+   * </p>
+   *
+   * @param dtos the employees of the chunk
+   * @return a Future containing one result per item, in chunk order
+   */
+  public Future<List<BatchItemResult>> importChunk(List<EmployeeDTO> dtos) {
+    if (circuitBreaker.state() == CircuitBreakerState.OPEN) {
+      return Future.failedFuture(new ServiceException(ErrorCode.SERVICE_UNAVAILABLE, "Database circuit is open"));
+    }
+    return batchLimiter.submit(() -> createBatchPartialLogic(dtos));
+  }
+
+  private static BatchItemResult conflict(int index) {
+    return BatchItemResult.rejected(index, BatchItemResult.Status.CONFLICT, ErrorCode.DUPLICATE_EMPLOYEE,
+        ErrorCode.DUPLICATE_EMPLOYEE.getMessage());
+  }
+
+  /**
+   * Internal logic for batch creation.
+   *
+   * @param dtos the employees to create
+   * @return a Future with the created employees, in request order
+   */
+  private Future<List<EmployeeDTO>> createBatchLogic(List<EmployeeDTO> dtos) {
+    // 1. Validate every item and reject duplicates within the batch itself
+    Set<String> seen = new HashSet<>();
+    for (EmployeeDTO dto : dtos) {
+      ServiceException invalid = validateForCreate(dto);
+      if (invalid != null) {
+        return Future.failedFuture(invalid);
+      }
+      if (!seen.add(conflictKey(dto.getName(), dto.getDepartment()))) {
+        return Future.failedFuture(new ServiceException(ErrorCode.DUPLICATE_EMPLOYEE));
+      }
+    }
+
+    // 2. Set Audit Timestamp (shared by the whole batch)
+    String timestamp = java.time.Instant.now().toString();
+    dtos.forEach(dto -> dto.setLastModifiedAt(timestamp));
+
+    // 3. Resolve every conflict with one query, then write everything in one
+    // transaction
+    return repository.findByNameAndDepartmentPairs(dtos)
+        .compose(existingList -> {
+          Map<String, EmployeeDTO> existing = new HashMap<>();
+          existingList.forEach(e -> existing.put(conflictKey(e.getName(), e.getDepartment()), e));
+
+          List<EmployeeDTO> inserts = new ArrayList<>();
+          List<EmployeeDTO> reactivations = new ArrayList<>();
+          for (EmployeeDTO dto : dtos) {
+            EmployeeDTO match = existing.get(conflictKey(dto.getName(), dto.getDepartment()));
+            if (match == null) {
+              inserts.add(dto);
+            } else if (match.isActive()) {
+              return Future.failedFuture(new ServiceException(ErrorCode.DUPLICATE_EMPLOYEE));
+            } else {
+              dto.setId(match.getId());
+              // Report the stored spelling, as single creates do
+              dto.setDepartment(match.getDepartment());
+              reactivations.add(dto);
+            }
+          }
+
+          return repository.saveBatch(inserts, reactivations)
+              .recover(err -> EmployeeRepository.isDuplicateKey(err)
+                  // A concurrent create won the race on the unique key
+                  ? Future.failedFuture(new ServiceException(ErrorCode.DUPLICATE_EMPLOYEE))
+                  : Future.failedFuture(err))
+              .map(v -> {
+                invalidate(reactivations.stream().map(EmployeeDTO::getId).collect(Collectors.toList()));
+                inserts.forEach(dto -> committed(ChangeFeed.Type.CREATED, dto));
+                reactivations.forEach(dto -> committed(ChangeFeed.Type.REACTIVATED, dto));
+                return dtos;
+              });
+        });
+  }
+
+  /**
+   * Builds the key used to match (name, department) pairs. MySQL compares these
+   * columns case-insensitively, so the key is case-folded to agree with it.
+   */
+  private static String conflictKey(String name, String department) {
+    return name.toLowerCase(Locale.ROOT) + '\u0000' + department.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Mandatory field validation shared by single and batch creation.
    *
    * @param dto the employee data
-   * @return a Future with the result
+   * @return the validation failure, or null if the DTO is valid
    */
-  private Future<EmployeeDTO> createEmployeeLogic(EmployeeDTO dto) {
-    // 1. Mandatory field validation
-    // Ensure all critical fields are present before hitting the DB
+  private ServiceException validateForCreate(EmployeeDTO dto) {
     if (dto.getName() == null || dto.getName().isBlank()) {
-      return Future.failedFuture(new ServiceException(ErrorCode.MISSING_NAME));
+      return new ServiceException(ErrorCode.MISSING_NAME);
     }
     if (dto.getDepartment() == null || dto.getDepartment().isBlank()) {
-      return Future.failedFuture(new ServiceException(ErrorCode.INVALID_DEPARTMENT));
+      return new ServiceException(ErrorCode.INVALID_DEPARTMENT);
     }
     if (dto.getSalary() == null) {
-      return Future.failedFuture(new ServiceException(ErrorCode.MISSING_SALARY));
+      return new ServiceException(ErrorCode.MISSING_SALARY);
     }
     if (dto.getSalary() < 0) {
-      return Future.failedFuture(new ServiceException(ErrorCode.NEGATIVE_SALARY));
+      return new ServiceException(ErrorCode.NEGATIVE_SALARY);
+    }
+    return null;
+  }
+
+  /**
+   * Internal logic for employee creation, including input validation and
+   * duplicate checks.
+   *
+   * @param dto the employee data
+   * @return a Future with the result
+   */
+  private Future<EmployeeDTO> createEmployeeLogic(EmployeeDTO dto) {
+    // 1. Mandatory field validation
+    // Ensure all critical fields are present before hitting the DB
+    ServiceException invalid = validateForCreate(dto);
+    if (invalid != null) {
+      return Future.failedFuture(invalid);
     }
 
     // 2. Set Audit Timestamp
     dto.setLastModifiedAt(java.time.Instant.now().toString());
 
     // 3. Conflict detection and recovery (Soft Delete handling)
-    // We check if an employee with the same Name/Dept exists
-    return repository.findByNameAndDepartment(dto.getName(), dto.getDepartment())
-        .compose(existing -> {
-
-          if (existing == null) {
-            // CASE 1: Brand-new employee entry
-            return repository.save(dto).map(dto);
-          }
-
-        else if (existing.isActive()) {
-            // CASE 2: Active duplicate found - reject creation to prevent data
-            // inconsistency
-            return Future.failedFuture(new ServiceException(ErrorCode.DUPLICATE_EMPLOYEE));
-          }
-
-        else {
-            // CASE 3: Inactive record found (Soft Deleted)
-            // Reactivate the old record instead of creating a new one to preserve history
-            dto.setId(existing.getId());
-            return repository.reactivate(existing.getId(), dto.getSalary())
-                .map(dto);
+    // A single upsert decides between insert, reactivation and duplicate
+    // atomically, so concurrent creates for the same Name/Dept cannot race.
+    // With group commit enabled, it shares a transaction with concurrent creates
+    Future<UpsertOutcome> upsert = coalescer != null ? coalescer.upsert(dto) : repository.upsert(dto);
+    return upsert
+        .compose(outcome -> {
+          switch (outcome) {
+            case CREATED:
+              // CASE 1: Brand-new employee entry
+              invalidate(Collections.emptyList());
+              committed(ChangeFeed.Type.CREATED, dto);
+              return Future.succeededFuture(dto);
+            case REACTIVATED:
+              // CASE 3: Inactive record found (Soft Deleted) and reactivated in
+              // place to preserve history; the DTO now carries its original ID
+              invalidate(List.of(dto.getId()));
+              committed(ChangeFeed.Type.REACTIVATED, dto);
+              return Future.succeededFuture(dto);
+            default:
+              // CASE 2: Active duplicate found - reject creation to prevent data
+              // inconsistency
+              return Future.failedFuture(new ServiceException(ErrorCode.DUPLICATE_EMPLOYEE));
           }
         });
   }
@@ -179,6 +790,9 @@ public class EmployeeService {
           if (!found) {
             return Future.failedFuture(new ServiceException(ErrorCode.EMPLOYEE_NOT_FOUND));
           }
+          invalidate(List.of(id));
+          dto.setId(id);
+          committed(ChangeFeed.Type.UPDATED, dto);
           return Future.succeededFuture(true);
         });
   }
@@ -221,6 +835,9 @@ public class EmployeeService {
           if (!found) {
             return Future.failedFuture(new ServiceException(ErrorCode.EMPLOYEE_NOT_FOUND));
           }
+          invalidate(List.of(id));
+          committed(ChangeFeed.Type.DELETED,
+              EmployeeDTO.builder().id(id).lastModifiedBy(user).lastModifiedAt(timestamp).build());
           return Future.succeededFuture(true);
         });
   }
@@ -0,0 +1,552 @@
+package ziadatari.ReactiveAPI.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.micrometer.backends.BackendRegistries;
+import ziadatari.ReactiveAPI.dto.EmployeeDTO;
+import ziadatari.ReactiveAPI.dto.EmployeeField;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * In-process, column-oriented copy of the active employees, used to answer
+ * salary analytics without a database round trip.
+ * <p>
+ * Each attribute is an array indexed by row: salaries in a {@code double[]},
+ * departments as {@code short} codes into a small dictionary, IDs as two
+ * {@code long} halves instead of 36-character strings, and names as offsets
+ * into one shared array of UTF-8 bytes. Rows are kept in ID
+ * order, so a write finds its row by binary search, and new employees, whose
+ * IDs are time-ordered, are appended at the end. Deleted rows are only marked
+ * dead, and compacted away once they make up half of the arrays.
+ * </p>
+ * <p>
+ * The snapshot is loaded from the primary at startup, kept current by the
+ * write paths of {@link EmployeeService}, and reloaded periodically to pick up
+ * writes made by other instances. Writes that commit while a reload is running
+ * are replayed on top of it.
+ * </p>
+ * <p>
+ * Salary aggregates are kept per department and overall as each write lands:
+ * headcount, sum, and the salaries in sorted order, which give min, max and
+ * percentiles directly. A write costs one binary search and array shift per
+ * group; only a reload sorts the salaries again.
+ * </p>
+ * <p>
+ * <b>Threading:</b> not thread-safe. Confined to the event loop of the
+ * {@code EmployeeVerticle} that owns it.
+ * </p>
+ */
+public class EmployeeSnapshot {
+
+  /** Columns read from the database to build the snapshot. */
+  public static final Set<EmployeeField> FIELDS = Collections.unmodifiableSet(EnumSet.of(
+      EmployeeField.ID, EmployeeField.NAME, EmployeeField.DEPARTMENT, EmployeeField.SALARY));
+
+  /** Percentiles reported for every group. */
+  private static final int[] PERCENTILES = { 50, 90, 95, 99 };
+
+  private Columns columns = new Columns(0).aggregate();
+  private boolean loaded;
+  /** Changes committed during the running reload, or null if none is running. */
+  private List<Change> replay;
+  private Future<Void> reloading;
+  /** Cached result of {@link #stats()}, or null after a change; rebuilt from the aggregates. */
+  private JsonObject stats;
+
+  /**
+   * Creates an empty snapshot and registers its size gauge.
+   */
+  public EmployeeSnapshot() {
+    MeterRegistry registry = BackendRegistries.getDefaultNow();
+    if (registry != null) {
+      registry.gauge("employee_snapshot_rows", this, snapshot -> snapshot.columns.live());
+    }
+  }
+
+  /**
+   * @return true once a load has completed, false while the snapshot is
+   *         still empty
+   */
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  /**
+   * Replaces the content of the snapshot with the active employees.
+   * Concurrent callers share one load; the current content keeps serving
+   * until it completes.
+   *
+   * @param loader queries the active employees with the columns of
+   *               {@link #FIELDS}, preferably in ID order
+   * @return a Future that completes once the new content is in place
+   */
+  public Future<Void> reload(Supplier<Future<List<EmployeeDTO>>> loader) {
+    if (reloading != null) {
+      return reloading;
+    }
+    Promise<Void> done = Promise.promise();
+    reloading = done.future();
+    replay = new ArrayList<>();
+    loader.get()
+        .<Void>map(rows -> {
+          Columns fresh = new Columns(rows.size());
+          for (EmployeeDTO dto : rows) {
+            fresh.apply(new Change(ChangeFeed.Type.CREATED, dto));
+          }
+          fresh.aggregate();
+          for (Change change : replay) {
+            fresh.apply(change);
+          }
+          columns = fresh;
+          loaded = true;
+          stats = null;
+          return null;
+        })
+        .onComplete(ar -> {
+          replay = null;
+          reloading = null;
+          done.handle(ar);
+        });
+    return done.future();
+  }
+
+  /**
+   * Applies a committed write.
+   *
+   * @param type what happened
+   * @param dto  the written employee, as reported to the change feed
+   */
+  public void apply(ChangeFeed.Type type, EmployeeDTO dto) {
+    if (dto.getId() == null) {
+      return;
+    }
+    Change change = new Change(type, dto);
+    columns.apply(change);
+    if (replay != null) {
+      replay.add(change);
+    }
+    stats = null;
+  }
+
+  /**
+   * Computes salary statistics of the active employees, overall
+   * ({@code total}) and per department ({@code departments}, by name).
+   * <p>
+   * Each group has {@code count} (employees), then {@code sum}, {@code avg},
+   * {@code min}, {@code max}, {@code p50}, {@code p90}, {@code p95} and
+   * {@code p99} over the employees that have a salary. Percentiles
+   * interpolate linearly between the closest ranks. Figures are null when no
+   * employee of the group has a salary.
+   * </p>
+   *
+   * @return the statistics; shared, must not be modified
+   */
+  public JsonObject stats() {
+    if (stats == null) {
+      stats = columns.stats();
+    }
+    return stats;
+  }
+
+  /**
+   * A committed write, reduced to what the snapshot stores.
+   */
+  private static final class Change {
+    private final ChangeFeed.Type type;
+    private final long idHigh;
+    private final long idLow;
+    private final String name;
+    private final String department;
+    private final double salary;
+
+    private Change(ChangeFeed.Type type, EmployeeDTO dto) {
+      UUID id = UUID.fromString(dto.getId());
+      this.type = type;
+      this.idHigh = id.getMostSignificantBits();
+      this.idLow = id.getLeastSignificantBits();
+      this.name = dto.getName();
+      this.department = dto.getDepartment();
+      this.salary = dto.getSalary() != null ? dto.getSalary() : Double.NaN;
+    }
+  }
+
+  /**
+   * The column arrays, their department dictionary and the running salary
+   * aggregates.
+   */
+  private static final class Columns {
+    /** Department code of a deleted row. */
+    private static final short DEAD = -1;
+    private static final int MIN_CAPACITY = 1024;
+    /** Name length of a row without a name. */
+    private static final int NO_NAME = -1;
+
+    private long[] idHigh;
+    private long[] idLow;
+    /** Salaries, NaN where unknown. */
+    private double[] salaries;
+    private short[] departments;
+    /** Where each row's UTF-8 encoded name starts in {@link #nameBytes}. */
+    private int[] nameOffsets;
+    private int[] nameLengths;
+    /** Names of all rows, back to back; overwritten names stay until compacted. */
+    private byte[] nameBytes;
+    private int nameEnd;
+    private int nameGarbage;
+    /** Rows in use, dead ones included. */
+    private int size;
+    private int dead;
+
+    private final List<String> departmentNames = new ArrayList<>();
+    private final Map<String, Short> departmentCodes = new HashMap<>();
+    /** Aggregates per department code, or null until {@link #aggregate()}. */
+    private List<Group> groups;
+    private Group total;
+
+    private Columns(int expectedRows) {
+      int capacity = Math.max(MIN_CAPACITY, expectedRows + expectedRows / 8);
+      idHigh = new long[capacity];
+      idLow = new long[capacity];
+      salaries = new double[capacity];
+      departments = new short[capacity];
+      nameOffsets = new int[capacity];
+      nameLengths = new int[capacity];
+      nameBytes = new byte[capacity * 16];
+    }
+
+    private int live() {
+      return size - dead;
+    }
+
+    private void apply(Change change) {
+      int row = find(change.idHigh, change.idLow);
+      switch (change.type) {
+        case CREATED:
+        case REACTIVATED:
+          if (row < 0) {
+            row = insertAt(-row - 1, change.idHigh, change.idLow);
+          } else if (departments[row] == DEAD) {
+            dead--;
+          } else {
+            unaggregate(row);
+          }
+          set(row, change);
+          break;
+        case UPDATED:
+          // Updates also reach soft-deleted rows, which are not in the snapshot
+          if (row >= 0 && departments[row] != DEAD) {
+            unaggregate(row);
+            set(row, change);
+          }
+          break;
+        case DELETED:
+          if (row >= 0 && departments[row] != DEAD) {
+            unaggregate(row);
+            departments[row] = DEAD;
+            setName(row, null);
+            if (++dead > MIN_CAPACITY && dead > size / 2) {
+              compact();
+            }
+          }
+          break;
+      }
+    }
+
+    private void set(int row, Change change) {
+      setName(row, change.name);
+      salaries[row] = change.salary;
+      departments[row] = code(change.department);
+      if (groups != null) {
+        groups.get(departments[row]).add(salaries[row]);
+        total.add(salaries[row]);
+      }
+    }
+
+    /**
+     * Removes a live row from the aggregates, before it changes or goes.
+     */
+    private void unaggregate(int row) {
+      if (groups != null) {
+        groups.get(departments[row]).remove(salaries[row]);
+        total.remove(salaries[row]);
+      }
+    }
+
+    private void setName(int row, String name) {
+      if (nameLengths[row] > 0) {
+        nameGarbage += nameLengths[row];
+      }
+      if (name == null) {
+        nameLengths[row] = NO_NAME;
+        return;
+      }
+      byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+      if (nameEnd + utf8.length > nameBytes.length) {
+        if (nameGarbage > nameEnd / 2) {
+          nameLengths[row] = NO_NAME;
+          compactNames();
+        }
+        if (nameEnd + utf8.length > nameBytes.length) {
+          nameBytes = Arrays.copyOf(nameBytes, Math.max(nameEnd + utf8.length, nameBytes.length + (nameBytes.length >> 1)));
+        }
+      }
+      System.arraycopy(utf8, 0, nameBytes, nameEnd, utf8.length);
+      nameOffsets[row] = nameEnd;
+      nameLengths[row] = utf8.length;
+      nameEnd += utf8.length;
+    }
+
+    /**
+     * Binary search over the IDs, compared as unsigned 128-bit values (the
+     * order of the primary key).
+     *
+     * @return the row, or {@code -(insertion point) - 1} if absent
+     */
+    private int find(long high, long low) {
+      int from = 0;
+      int to = size - 1;
+      // Fast path: a new ID sorts after every existing one
+      if (size == 0 || compare(idHigh[to], idLow[to], high, low) < 0) {
+        return -size - 1;
+      }
+      while (from <= to) {
+        int mid = (from + to) >>> 1;
+        int cmp = compare(idHigh[mid], idLow[mid], high, low);
+        if (cmp < 0) {
+          from = mid + 1;
+        } else if (cmp > 0) {
+          to = mid - 1;
+        } else {
+          return mid;
+        }
+      }
+      return -from - 1;
+    }
+
+    private static int compare(long high1, long low1, long high2, long low2) {
+      int cmp = Long.compareUnsigned(high1, high2);
+      return cmp != 0 ? cmp : Long.compareUnsigned(low1, low2);
+    }
+
+    private int insertAt(int row, long high, long low) {
+      if (size == idHigh.length) {
+        int capacity = size + (size >> 1);
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        salaries = Arrays.copyOf(salaries, capacity);
+        departments = Arrays.copyOf(departments, capacity);
+        nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+        nameLengths = Arrays.copyOf(nameLengths, capacity);
+      }
+      // Only reactivations of old IDs land before the end
+      int moved = size - row;
+      if (moved > 0) {
+        System.arraycopy(idHigh, row, idHigh, row + 1, moved);
+        System.arraycopy(idLow, row, idLow, row + 1, moved);
+        System.arraycopy(salaries, row, salaries, row + 1, moved);
+        System.arraycopy(departments, row, departments, row + 1, moved);
+        System.arraycopy(nameOffsets, row, nameOffsets, row + 1, moved);
+        System.arraycopy(nameLengths, row, nameLengths, row + 1, moved);
+      }
+      idHigh[row] = high;
+      idLow[row] = low;
+      nameLengths[row] = NO_NAME;
+      size++;
+      return row;
+    }
+
+    private void compact() {
+      int kept = 0;
+      for (int row = 0; row < size; row++) {
+        if (departments[row] != DEAD) {
+          idHigh[kept] = idHigh[row];
+          idLow[kept] = idLow[row];
+          salaries[kept] = salaries[row];
+          departments[kept] = departments[row];
+          nameOffsets[kept] = nameOffsets[row];
+          nameLengths[kept] = nameLengths[row];
+          kept++;
+        }
+      }
+      size = kept;
+      dead = 0;
+      compactNames();
+    }
+
+    /**
+     * Rewrites the name bytes without the overwritten names, keeping row
+     * order.
+     */
+    private void compactNames() {
+      byte[] compacted = new byte[Math.max(MIN_CAPACITY, nameEnd - nameGarbage + (nameEnd - nameGarbage) / 2)];
+      int end = 0;
+      for (int row = 0; row < size; row++) {
+        int length = nameLengths[row];
+        if (length > 0) {
+          System.arraycopy(nameBytes, nameOffsets[row], compacted, end, length);
+          nameOffsets[row] = end;
+          end += length;
+        }
+      }
+      nameBytes = compacted;
+      nameEnd = end;
+      nameGarbage = 0;
+    }
+
+    private short code(String department) {
+      Short code = departmentCodes.get(department);
+      if (code == null) {
+        code = (short) departmentNames.size();
+        departmentNames.add(department);
+        departmentCodes.put(department, code);
+        if (groups != null) {
+          groups.add(new Group(0));
+        }
+      }
+      return code;
+    }
+
+    /**
+     * Builds the aggregates of the loaded rows, sorting the salaries once.
+     * Later writes keep them current.
+     */
+    private Columns aggregate() {
+      int[] headcounts = new int[departmentNames.size()];
+      for (int row = 0; row < size; row++) {
+        if (departments[row] != DEAD) {
+          headcounts[departments[row]]++;
+        }
+      }
+      groups = new ArrayList<>(headcounts.length);
+      for (int headcount : headcounts) {
+        groups.add(new Group(headcount));
+      }
+      total = new Group(live());
+      for (int row = 0; row < size; row++) {
+        if (departments[row] != DEAD) {
+          groups.get(departments[row]).append(salaries[row]);
+          total.append(salaries[row]);
+        }
+      }
+      for (Group group : groups) {
+        group.sort();
+      }
+      total.sort();
+      return this;
+    }
+
+    private JsonObject stats() {
+      List<JsonObject> byDepartment = new ArrayList<>();
+      for (int code = 0; code < groups.size(); code++) {
+        if (groups.get(code).count > 0) {
+          byDepartment.add(new JsonObject().put("department", departmentNames.get(code))
+              .mergeIn(groups.get(code).toJson()));
+        }
+      }
+      byDepartment.sort(Comparator.comparing(group -> group.getString("department"),
+          Comparator.nullsFirst(Comparator.naturalOrder())));
+
+      return new JsonObject()
+          .put("total", total.toJson())
+          .put("departments", new JsonArray(byDepartment));
+    }
+  }
+
+  /**
+   * Running salary aggregates of one group: its headcount, and the sum and
+   * sorted values of the known salaries. A write inserts or removes one value
+   * by binary search, so percentiles never need a full sort.
+   */
+  private static final class Group {
+    /** Live employees, with or without a salary. */
+    private int count;
+    private double sum;
+    private double[] sorted;
+    /** Employees with a salary, the used length of {@link #sorted}. */
+    private int n;
+
+    private Group(int headcount) {
+      count = headcount;
+      sorted = new double[Math.max(16, headcount)];
+    }
+
+    /** Adds a value during the initial load, before {@link #sort()}. */
+    private void append(double salary) {
+      if (!Double.isNaN(salary)) {
+        sorted[n++] = salary;
+        sum += salary;
+      }
+    }
+
+    private void sort() {
+      Arrays.sort(sorted, 0, n);
+    }
+
+    private void add(double salary) {
+      count++;
+      if (Double.isNaN(salary)) {
+        return;
+      }
+      int at = Arrays.binarySearch(sorted, 0, n, salary);
+      if (at < 0) {
+        at = -at - 1;
+      }
+      if (n == sorted.length) {
+        sorted = Arrays.copyOf(sorted, n + (n >> 1));
+      }
+      System.arraycopy(sorted, at, sorted, at + 1, n - at);
+      sorted[at] = salary;
+      n++;
+      sum += salary;
+    }
+
+    private void remove(double salary) {
+      count--;
+      if (Double.isNaN(salary)) {
+        return;
+      }
+      int at = Arrays.binarySearch(sorted, 0, n, salary);
+      if (at < 0) {
+        return;
+      }
+      System.arraycopy(sorted, at + 1, sorted, at, n - at - 1);
+      n--;
+      // Start over from zero rather than carry rounding error forward
+      sum = n > 0 ? sum - salary : 0;
+    }
+
+    private JsonObject toJson() {
+      JsonObject group = new JsonObject().put("count", count)
+          .put("sum", sum)
+          .put("avg", n > 0 ? sum / n : null)
+          .put("min", n > 0 ? sorted[0] : null)
+          .put("max", n > 0 ? sorted[n - 1] : null);
+      for (int p : PERCENTILES) {
+        group.put("p" + p, n > 0 ? percentile(p) : null);
+      }
+      return group;
+    }
+
+    private double percentile(int p) {
+      double rank = p / 100.0 * (n - 1);
+      int below = (int) rank;
+      int above = Math.min(below + 1, n - 1);
+      return sorted[below] + (sorted[above] - sorted[below]) * (rank - below);
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package ziadatari.ReactiveAPI.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.vertx.micrometer.backends.BackendRegistries;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small LRU cache with a per-entry time-to-live, used by the service layer to
+ * serve read-heavy employee queries without a database round trip.
+ * <p>
+ * <b>Threading:</b> not thread-safe by design. Each instance is confined to the
+ * event loop of the single {@code EmployeeVerticle} that owns it, so no locking
+ * is needed.
+ * </p>
+ * <p>
+ * <b>Stale fills:</b> every invalidation bumps a generation counter. A loader
+ * captures {@link #generation()} before querying the database and passes it to
+ * {@link #put(Object, Object, long)}; if a write invalidated the cache in the
+ * meantime, the (possibly stale) result is simply not stored.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class TtlCache<K, V> {
+
+  private final int maxEntries;
+  private final long ttlMs;
+  private final LinkedHashMap<K, Entry<V>> entries;
+  private long generation;
+
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter sizeEvictions;
+  private final Counter expiredEvictions;
+  private final Counter invalidations;
+
+  /**
+   * Creates a cache and registers its metrics under the given name.
+   *
+   * @param name       the cache name, used as the {@code cache} metric tag
+   * @param maxEntries maximum number of entries before the least recently used
+   *                   one is evicted
+   * @param ttlMs      time-to-live of each entry in milliseconds
+   */
+  public TtlCache(String name, int maxEntries, long ttlMs) {
+    this.maxEntries = maxEntries;
+    this.ttlMs = ttlMs;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+        if (size() > TtlCache.this.maxEntries) {
+          increment(sizeEvictions);
+          return true;
+        }
+        return false;
+      }
+    };
+
+    MeterRegistry registry = BackendRegistries.getDefaultNow();
+    if (registry != null) {
+      Tags tags = Tags.of("cache", name);
+      hits = registry.counter("employee_cache_requests_total", tags.and("result", "hit"));
+      misses = registry.counter("employee_cache_requests_total", tags.and("result", "miss"));
+      sizeEvictions = registry.counter("employee_cache_evictions_total", tags.and("cause", "size"));
+      expiredEvictions = registry.counter("employee_cache_evictions_total", tags.and("cause", "expired"));
+      invalidations = registry.counter("employee_cache_evictions_total", tags.and("cause", "invalidated"));
+      registry.gauge("employee_cache_size", tags, entries, Map::size);
+    } else {
+      hits = null;
+      misses = null;
+      sizeEvictions = null;
+      expiredEvictions = null;
+      invalidations = null;
+    }
+  }
+
+  /**
+   * Returns the cached value for a key, or null on a miss or expired entry.
+   *
+   * @param key the key to look up
+   * @return the cached value, or null
+   */
+  public V get(K key) {
+    Entry<V> entry = entries.get(key);
+    if (entry == null) {
+      increment(misses);
+      return null;
+    }
+    if (entry.expiresAt <= System.currentTimeMillis()) {
+      entries.remove(key);
+      increment(expiredEvictions);
+      increment(misses);
+      return null;
+    }
+    increment(hits);
+    return entry.value;
+  }
+
+  /**
+   * Returns the current generation, to be captured before loading a value.
+   *
+   * @return the invalidation generation
+   */
+  public long generation() {
+    return generation;
+  }
+
+  /**
+   * Stores a value unless the cache was invalidated after the load started.
+   *
+   * @param key        the key
+   * @param value      the value loaded from the database
+   * @param generation the generation captured before the load
+   */
+  public void put(K key, V value, long generation) {
+    if (generation == this.generation) {
+      entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMs));
+    }
+  }
+
+  /**
+   * Drops a single entry.
+   *
+   * @param key the key to invalidate
+   */
+  public void invalidate(K key) {
+    generation++;
+    if (entries.remove(key) != null) {
+      increment(invalidations);
+    }
+  }
+
+  /**
+   * Drops every entry.
+   */
+  public void invalidateAll() {
+    generation++;
+    if (invalidations != null) {
+      invalidations.increment(entries.size());
+    }
+    entries.clear();
+  }
+
+  private static void increment(Counter counter) {
+    if (counter != null) {
+      counter.increment();
+    }
+  }
+
+  private static final class Entry<V> {
+    private final V value;
+    private final long expiresAt;
+
+    private Entry(V value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
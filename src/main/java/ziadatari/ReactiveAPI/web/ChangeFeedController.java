@@ -0,0 +1,373 @@
+package ziadatari.ReactiveAPI.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.micrometer.backends.BackendRegistries;
+import ziadatari.ReactiveAPI.exception.ErrorCode;
+import ziadatari.ReactiveAPI.exception.GlobalErrorHandler;
+import ziadatari.ReactiveAPI.exception.ServiceException;
+import ziadatari.ReactiveAPI.service.ChangeFeed;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Controller for the employee change feed.
+ * <p>
+ * Pushes every committed mutation to subscribers, so downstream services can
+ * keep their own copy of the data instead of polling the full list:
+ * <ul>
+ * <li>{@code GET /v3/employees/changes/stream}: Server-Sent Events, one event
+ * per change, with the version ({@code <epoch>-<sequence>}) as the event
+ * ID.</li>
+ * <li>{@code GET /v3/employees/changes/ws}: WebSocket, one JSON text message
+ * per change.</li>
+ * </ul>
+ * A subscriber that reconnects passes the last version it saw
+ * ({@code Last-Event-ID} header or {@code ?since=}) and first receives the
+ * changes it missed, then the live ones, without gaps or repeats. If that
+ * version is no longer retained, the request fails with
+ * {@code 410 CHANGES_EXPIRED} and the client must reload the full list.
+ * </p>
+ * <p>
+ * Each instance listens to the feed once and fans events out to the
+ * subscribers connected to its event loop. Every subscriber has a bounded
+ * buffer for events its connection cannot take yet; a subscriber that falls
+ * further behind is disconnected and can resume from its last version.
+ * </p>
+ */
+public class ChangeFeedController {
+
+  /** Interval of keep-alive frames, so idle connections survive proxies. */
+  private static final long HEARTBEAT_MS = 15_000;
+  private static final Buffer SSE_HEARTBEAT = Buffer.buffer(":\n\n");
+
+  private final Vertx vertx;
+  private final int bufferSize;
+  private final Set<Subscriber> subscribers = new HashSet<>();
+  private final Counter dropped;
+
+  /**
+   * Constructs a ChangeFeedController and subscribes it to the feed.
+   *
+   * @param vertx      the Vertx instance used for Event Bus access
+   * @param bufferSize events buffered per subscriber before it is dropped
+   */
+  public ChangeFeedController(Vertx vertx, int bufferSize) {
+    this.vertx = vertx;
+    this.bufferSize = bufferSize;
+
+    MeterRegistry registry = BackendRegistries.getDefaultNow();
+    dropped = registry != null ? registry.counter("employee_change_subscribers_dropped_total") : null;
+
+    vertx.eventBus().<JsonObject>consumer(ChangeFeed.ADDRESS, msg -> {
+      Change change = new Change(msg.body());
+      // Copy: a subscriber may be dropped while iterating
+      for (Subscriber subscriber : new ArrayList<>(subscribers)) {
+        subscriber.offer(change);
+      }
+    });
+    vertx.setPeriodic(HEARTBEAT_MS, id -> subscribers.forEach(Subscriber::heartbeat));
+  }
+
+  /**
+   * Handles GET /employees/changes/stream (Server-Sent Events).
+   *
+   * @param ctx the routing context
+   */
+  public void sse(RoutingContext ctx) {
+    subscribe(ctx, subscriber -> {
+      HttpServerResponse response = ctx.response()
+          .setChunked(true)
+          .putHeader("content-type", "text/event-stream")
+          .putHeader("Cache-Control", "no-cache");
+      return Future.succeededFuture(new SseOutput(response));
+    });
+  }
+
+  /**
+   * Handles GET /employees/changes/ws (WebSocket).
+   *
+   * @param ctx the routing context
+   */
+  public void webSocket(RoutingContext ctx) {
+    if (!"websocket".equalsIgnoreCase(ctx.request().getHeader("Upgrade"))) {
+      GlobalErrorHandler.handle(ctx, new ServiceException(ErrorCode.VALIDATION_ERROR, "WebSocket upgrade required"));
+      return;
+    }
+    subscribe(ctx, subscriber -> ctx.request().toWebSocket().map(ws -> {
+      ws.closeHandler(v -> subscriber.close());
+      // Subscribers only listen; incoming frames are ignored
+      ws.handler(frame -> {
+      });
+      return new WebSocketOutput(ws);
+    }));
+  }
+
+  /**
+   * Registers a subscriber, resolves its resume point, then opens its
+   * connection.
+   * <p>
+   * The subscriber is registered before the missed changes are requested, so
+   * changes published in the meantime are buffered rather than lost; those
+   * already covered by the replay are skipped. It is unregistered as soon as
+   * the client disconnects, even before its connection is opened.
+   * </p>
+   *
+   * @param ctx  the routing context
+   * @param open opens the connection once the subscription is accepted
+   */
+  private void subscribe(RoutingContext ctx, Function<Subscriber, Future<Output>> open) {
+    String requested = ctx.request().getHeader("Last-Event-ID");
+    if (requested == null) {
+      requested = ctx.queryParams().get("since");
+    }
+    String since = requested != null ? requested.trim() : null;
+    JsonObject request = new JsonObject();
+    if (since != null) {
+      // Checked by the feed: a version of another run fails as expired
+      request.put("since", since);
+    }
+
+    Subscriber subscriber = new Subscriber();
+    subscribers.add(subscriber);
+    // Set before the round trip, so a client that leaves while it is in
+    // flight does not stay registered
+    ctx.response().closeHandler(v -> subscriber.close());
+
+    vertx.eventBus().<JsonObject>request("employees.changes.since", request)
+        .<Void>compose(msg -> {
+          if (ctx.response().closed()) {
+            return Future.succeededFuture();
+          }
+          return open.apply(subscriber).map(output -> {
+            subscriber.start(output, msg.body(), since);
+            return null;
+          });
+        })
+        .onFailure(err -> {
+          subscribers.remove(subscriber);
+          if (!ctx.response().closed()) {
+            EmployeeController.handleError(ctx, err);
+          }
+        });
+  }
+
+  /**
+   * One change, encoded once and shared by every subscriber.
+   */
+  private static final class Change {
+    private final long sequence;
+    private final String json;
+    private final Buffer sseFrame;
+
+    private Change(JsonObject event) {
+      String version = event.getString("version");
+      this.sequence = ChangeFeed.sequence(version);
+      this.json = event.encode();
+      this.sseFrame = Buffer.buffer("id: " + version + "\nevent: " + event.getString("type")
+          + "\ndata: " + json + "\n\n");
+    }
+  }
+
+  /**
+   * A subscriber connection.
+   */
+  private interface Output {
+    WriteStream<Buffer> stream();
+
+    /** Tells the subscriber the version it starts from. */
+    void opened(String version);
+
+    void send(Change change);
+
+    void heartbeat();
+
+    /** Ends the connection because the subscriber fell too far behind. */
+    void overflow();
+  }
+
+  private static final class SseOutput implements Output {
+    private final HttpServerResponse response;
+
+    private SseOutput(HttpServerResponse response) {
+      this.response = response;
+    }
+
+    @Override
+    public WriteStream<Buffer> stream() {
+      return response;
+    }
+
+    @Override
+    public void opened(String version) {
+      // An ID-only event sends the headers and sets the client's
+      // Last-Event-ID before any change arrives
+      response.write("id: " + version + "\n\n");
+    }
+
+    @Override
+    public void send(Change change) {
+      response.write(change.sseFrame);
+    }
+
+    @Override
+    public void heartbeat() {
+      response.write(SSE_HEARTBEAT);
+    }
+
+    @Override
+    public void overflow() {
+      // The client reconnects with Last-Event-ID and resumes where it stopped
+      response.end();
+    }
+  }
+
+  private static final class WebSocketOutput implements Output {
+    private final ServerWebSocket ws;
+
+    private WebSocketOutput(ServerWebSocket ws) {
+      this.ws = ws;
+    }
+
+    @Override
+    public WriteStream<Buffer> stream() {
+      return ws;
+    }
+
+    @Override
+    public void opened(String version) {
+      ws.writeTextMessage(new JsonObject().put("type", "SUBSCRIBED").put("version", version).encode());
+    }
+
+    @Override
+    public void send(Change change) {
+      ws.writeTextMessage(change.json);
+    }
+
+    @Override
+    public void heartbeat() {
+      ws.writePing(Buffer.buffer());
+    }
+
+    @Override
+    public void overflow() {
+      // 1013: Try Again Later
+      ws.close((short) 1013, "Subscriber too slow");
+    }
+  }
+
+  /**
+   * Delivery state of one subscriber: events wait in a bounded queue while its
+   * connection's write queue is full, and are sent in version order.
+   */
+  private final class Subscriber {
+    private final Deque<Change> pending = new ArrayDeque<>();
+    private Output output;
+    /** Sequence number of the last change delivered, or covered by the replay. */
+    private long delivered = Long.MAX_VALUE;
+    private boolean closed;
+
+    /**
+     * Queues or sends a live change.
+     */
+    private void offer(Change change) {
+      if (closed) {
+        return;
+      }
+      if (output != null && pending.isEmpty() && !output.stream().writeQueueFull()) {
+        send(change);
+        return;
+      }
+      if (pending.size() >= bufferSize) {
+        drop();
+        return;
+      }
+      pending.addLast(change);
+    }
+
+    /**
+     * Starts delivery: the missed changes first, then the live ones buffered
+     * while connecting.
+     *
+     * @param output   the opened connection
+     * @param position the feed position: {@code version} and {@code events}
+     * @param since    the version the subscriber resumes from, or null
+     */
+    private void start(Output output, JsonObject position, String since) {
+      if (closed) {
+        // Fell behind while connecting
+        output.overflow();
+        return;
+      }
+      this.output = output;
+      output.stream().drainHandler(v -> flush());
+
+      String from = since != null ? since : position.getString("version");
+      long version = ChangeFeed.sequence(position.getString("version"));
+      JsonArray missed = position.getJsonArray("events");
+      Deque<Change> live = new ArrayDeque<>(pending);
+      pending.clear();
+      for (int i = 0; i < missed.size(); i++) {
+        pending.addLast(new Change(missed.getJsonObject(i)));
+      }
+      for (Change change : live) {
+        if (change.sequence > version) {
+          pending.addLast(change);
+        }
+      }
+      delivered = version - missed.size();
+      output.opened(from);
+      flush();
+    }
+
+    private void flush() {
+      while (!closed && !pending.isEmpty() && !output.stream().writeQueueFull()) {
+        send(pending.pollFirst());
+      }
+    }
+
+    private void send(Change change) {
+      if (change.sequence <= delivered) {
+        return;
+      }
+      delivered = change.sequence;
+      output.send(change);
+    }
+
+    private void heartbeat() {
+      if (output != null && !closed && !output.stream().writeQueueFull()) {
+        output.heartbeat();
+      }
+    }
+
+    private void drop() {
+      if (dropped != null) {
+        dropped.increment();
+      }
+      close();
+      if (output != null) {
+        output.overflow();
+      }
+    }
+
+    private void close() {
+      closed = true;
+      pending.clear();
+      subscribers.remove(this);
+    }
+  }
+}
@@ -0,0 +1,209 @@
+package ziadatari.ReactiveAPI.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.validation.RequestParameter;
+import io.vertx.ext.web.validation.RequestParameters;
+import io.vertx.ext.web.validation.ValidationHandler;
+import ziadatari.ReactiveAPI.dto.EmployeeDTO;
+import ziadatari.ReactiveAPI.exception.ErrorCode;
+import ziadatari.ReactiveAPI.exception.ServiceException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Binds employee request bodies (a single object or a batch array) into
+ * {@link EmployeeDTO.Builder}s, parsing the body at most once.
+ * <p>
+ * Routes built by the OpenAPI RouterBuilder have already parsed and validated
+ * the body; that tree is reused from the validation context. Otherwise the
+ * raw body Buffer is read once with Jackson's streaming parser: the first
+ * token tells an object from an array, and fields are bound directly without
+ * building an intermediate JsonObject.
+ * </p>
+ */
+final class EmployeeBodyParser {
+
+  private static final JsonFactory FACTORY = new JsonFactory();
+
+  private EmployeeBodyParser() {
+  }
+
+  /**
+   * The parsed body: one employee, or a batch.
+   */
+  static final class EmployeeBody {
+    private final EmployeeDTO.Builder single;
+    private final List<EmployeeDTO.Builder> batch;
+
+    private EmployeeBody(EmployeeDTO.Builder single, List<EmployeeDTO.Builder> batch) {
+      this.single = single;
+      this.batch = batch;
+    }
+
+    boolean isBatch() {
+      return batch != null;
+    }
+
+    /** The employee of a single-object body. */
+    EmployeeDTO.Builder single() {
+      return single;
+    }
+
+    /** The employees of an array body, in request order. */
+    List<EmployeeDTO.Builder> batch() {
+      return batch;
+    }
+  }
+
+  /**
+   * Parses the request body of an employee mutation.
+   *
+   * @param ctx the routing context
+   * @return the bound body
+   * @throws ServiceException if the body is missing or empty
+   * @throws DecodeException  if the body is not a JSON object or array of
+   *                          employees
+   */
+  static EmployeeBody parse(RoutingContext ctx) {
+    RequestParameters parameters = ctx.get(ValidationHandler.REQUEST_CONTEXT_KEY);
+    RequestParameter validated = parameters != null ? parameters.body() : null;
+    if (validated != null && validated.isJsonObject()) {
+      return new EmployeeBody(bind(validated.getJsonObject()), null);
+    }
+    if (validated != null && validated.isJsonArray()) {
+      JsonArray array = validated.getJsonArray();
+      List<EmployeeDTO.Builder> batch = new ArrayList<>(array.size());
+      for (int i = 0; i < array.size(); i++) {
+        batch.add(bind(array.getJsonObject(i)));
+      }
+      return new EmployeeBody(null, batch);
+    }
+
+    Buffer raw = ctx.body().buffer();
+    if (raw == null || raw.length() == 0) {
+      throw new ServiceException(ErrorCode.EMPTY_BODY);
+    }
+    return parse(raw);
+  }
+
+  /**
+   * Streams a raw JSON body into builders in a single pass.
+   *
+   * @param raw the request body
+   * @return the bound body
+   * @throws ServiceException if the body is blank
+   * @throws DecodeException  if the body is malformed
+   */
+  static EmployeeBody parse(Buffer raw) {
+    try (JsonParser parser = FACTORY.createParser(raw.getBytes())) {
+      JsonToken token = parser.nextToken();
+      if (token == null) {
+        throw new ServiceException(ErrorCode.EMPTY_BODY);
+      }
+      EmployeeBody body;
+      if (token == JsonToken.START_OBJECT) {
+        body = new EmployeeBody(readEmployee(parser), null);
+      } else if (token == JsonToken.START_ARRAY) {
+        List<EmployeeDTO.Builder> batch = new ArrayList<>();
+        while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+          batch.add(readEmployee(parser));
+        }
+        if (token != JsonToken.END_ARRAY) {
+          throw new DecodeException("Expected an array of JSON objects");
+        }
+        body = new EmployeeBody(null, Collections.unmodifiableList(batch));
+      } else {
+        throw new DecodeException("Expected a JSON object or array");
+      }
+      // Like new JsonObject(String), reject anything after the top-level value
+      if (parser.nextToken() != null) {
+        throw new DecodeException("Unexpected content after the JSON value");
+      }
+      return body;
+    } catch (IOException e) {
+      throw new DecodeException("Failed to decode: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Binds an already parsed JSON object.
+   */
+  private static EmployeeDTO.Builder bind(JsonObject json) {
+    EmployeeDTO.Builder builder = EmployeeDTO.builder()
+        .id(json.getString("id"))
+        .name(json.getString("name"))
+        .department(json.getString("department"))
+        .salary(json.getDouble("salary"))
+        .lastModifiedBy(json.getString("lastModifiedBy"))
+        .lastModifiedAt(json.getString("lastModifiedAt"));
+    Boolean active = json.getBoolean("active");
+    return active != null ? builder.active(active) : builder;
+  }
+
+  /**
+   * Binds the fields of the object the parser is positioned in (just after
+   * START_OBJECT). Unknown fields are skipped.
+   */
+  private static EmployeeDTO.Builder readEmployee(JsonParser parser) throws IOException {
+    EmployeeDTO.Builder builder = EmployeeDTO.builder();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      JsonToken value = parser.nextToken();
+      switch (field) {
+        case "id":
+          builder.id(text(parser, value, field));
+          break;
+        case "name":
+          builder.name(text(parser, value, field));
+          break;
+        case "department":
+          builder.department(text(parser, value, field));
+          break;
+        case "salary":
+          if (value.isNumeric()) {
+            builder.salary(parser.getDoubleValue());
+          } else if (value != JsonToken.VALUE_NULL) {
+            throw new DecodeException("salary must be a number");
+          }
+          break;
+        case "active":
+          if (value.isBoolean()) {
+            builder.active(value == JsonToken.VALUE_TRUE);
+          } else if (value != JsonToken.VALUE_NULL) {
+            throw new DecodeException("active must be a boolean");
+          }
+          break;
+        case "lastModifiedBy":
+          builder.lastModifiedBy(text(parser, value, field));
+          break;
+        case "lastModifiedAt":
+          builder.lastModifiedAt(text(parser, value, field));
+          break;
+        default:
+          parser.skipChildren();
+          break;
+      }
+    }
+    return builder;
+  }
+
+  private static String text(JsonParser parser, JsonToken value, String field) throws IOException {
+    if (value == JsonToken.VALUE_STRING) {
+      return parser.getText();
+    }
+    if (value == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    throw new DecodeException(field + " must be a string");
+  }
+}
@@ -1,16 +1,33 @@
 package ziadatari.ReactiveAPI.web;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.DecodeException;
 import io.vertx.ext.web.RoutingContext;
 import ziadatari.ReactiveAPI.dto.EmployeeDTO;
+import ziadatari.ReactiveAPI.dto.EmployeeField;
+import ziadatari.ReactiveAPI.dto.EmployeeListCodec;
+import ziadatari.ReactiveAPI.dto.EmployeeQueryDTO;
+import ziadatari.ReactiveAPI.dto.EncodedEmployeeList;
+import ziadatari.ReactiveAPI.dto.ExportFormat;
 import ziadatari.ReactiveAPI.exception.ErrorCode;
 import ziadatari.ReactiveAPI.exception.GlobalErrorHandler;
 import ziadatari.ReactiveAPI.exception.ServiceException;
+import ziadatari.ReactiveAPI.service.DataVersion;
+import ziadatari.ReactiveAPI.service.EmployeeService;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
-import java.time.Instant;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Controller responsible for handling HTTP requests related to Employees.
@@ -19,29 +36,425 @@ import java.time.Instant;
  */
 public class EmployeeController {
 
+  /** Query parameters that turn GET /employees into a SQL-backed query. */
+  private static final List<String> QUERY_PARAMS = List.of("after", "limit", "department", "minSalary",
+      "maxSalary", "sort", "fields");
+
   private final Vertx vertx;
+  private final ResponseEncoder encoder;
+  /** Table version shared with EmployeeVerticle, read without messaging. */
+  private final DataVersion dataVersion;
 
   /**
    * Constructs an EmployeeController.
    *
-   * @param vertx the Vertx instance used for Event Bus communication
+   * @param vertx   the Vertx instance used for Event Bus communication
+   * @param encoder encodes response bodies
    */
-  public EmployeeController(Vertx vertx) {
+  public EmployeeController(Vertx vertx, ResponseEncoder encoder) {
     this.vertx = vertx;
+    this.encoder = encoder;
+    this.dataVersion = new DataVersion(vertx);
   }
 
   /**
    * Handles GET /employees.
    * Requests all employee records from the service layer via the Event Bus.
+   * <p>
+   * Supports bounded alternatives to the full list:
+   * <ul>
+   * <li>{@code ?department=&minSalary=&maxSalary=&sort=salary,-name&limit=}:
+   * filtering, sorting and top-N, all pushed down into SQL.</li>
+   * <li>{@code ?after=<id>&limit=<n>}: keyset pagination (default ID order). A
+   * {@code Link} header with {@code rel="next"} is returned while more pages
+   * may exist.</li>
+   * <li>{@code ?stream=true}: the full list is streamed as a chunked JSON array
+   * straight from a database cursor.</li>
+   * </ul>
+   * Every variant accepts {@code ?fields=id,name,...}, which narrows both the
+   * SQL column list and the returned properties, and supports conditional
+   * requests through {@code If-None-Match}.
    *
    * @param ctx the routing context
    */
   public void getAll(RoutingContext ctx) {
-    vertx.eventBus().<JsonArray>request("employees.get.all", null)
-        .onSuccess(msg -> ctx.json(msg.body()))
+    String etag = checkNotModified(ctx);
+    if (etag == null) {
+      return;
+    }
+
+    if ("true".equalsIgnoreCase(ctx.queryParams().get("stream"))) {
+      stream(ctx, etag);
+      return;
+    }
+
+    if (QUERY_PARAMS.stream().anyMatch(ctx.queryParams()::contains)) {
+      query(ctx, etag);
+      return;
+    }
+
+    vertx.eventBus().<EncodedEmployeeList>request("employees.get.all", null)
+        .onSuccess(msg -> {
+          ctx.response().putHeader("ETag", etag);
+          sendJson(ctx, 200, encoder.encode(msg.body().getJson()));
+        })
+        .onFailure(err -> handleError(ctx, err));
+  }
+
+  /**
+   * Handles GET /employees/:id.
+   * Requests a single employee record via the Event Bus. Supports conditional
+   * requests through {@code If-None-Match}.
+   *
+   * @param ctx the routing context
+   */
+  public void getById(RoutingContext ctx) {
+    String etag = checkNotModified(ctx);
+    if (etag == null) {
+      return;
+    }
+
+    String id = ctx.pathParam("id");
+    Set<EmployeeField> fields;
+    try {
+      fields = EmployeeField.parse(ctx.queryParams().get("fields"));
+    } catch (IllegalArgumentException e) {
+      GlobalErrorHandler.handle(ctx, new ServiceException(ErrorCode.VALIDATION_ERROR, e.getMessage()));
+      return;
+    }
+
+    vertx.eventBus().<EmployeeDTO>request("employees.get.one", new JsonObject().put("id", id))
+        .onSuccess(msg -> {
+          ctx.response().putHeader("ETag", etag);
+          sendJson(ctx, 200, encoder.encode(msg.body().toJson(fields)));
+        })
         .onFailure(err -> handleError(ctx, err));
   }
 
+  /**
+   * Handles POST /employees/_mget.
+   * Resolves a list of employee IDs in a single request. IDs that do not match
+   * an active employee are omitted from the response.
+   *
+   * @param ctx the routing context
+   */
+  public void getByIds(RoutingContext ctx) {
+    try {
+      JsonObject body = ctx.body().asJsonObject();
+      if (body == null || body.getJsonArray("ids") == null) {
+        throw new ServiceException(ErrorCode.EMPTY_BODY);
+      }
+      // Note: Schema validation is now handled by OpenAPI RouterBuilder (v4.5)
+      Set<EmployeeField> fields = EmployeeField.parse(ctx.queryParams().get("fields"));
+
+      vertx.eventBus().<List<EmployeeDTO>>request("employees.get.many", body.getJsonArray("ids"))
+          .onSuccess(msg -> sendJson(ctx, 200, encoder.encode(toJsonArray(msg.body(), fields))))
+          .onFailure(err -> handleError(ctx, err));
+
+    } catch (IllegalArgumentException e) {
+      GlobalErrorHandler.handle(ctx, new ServiceException(ErrorCode.VALIDATION_ERROR, e.getMessage()));
+    } catch (Exception e) {
+      GlobalErrorHandler.handle(ctx, e);
+    }
+  }
+
+  /**
+   * Serves a filtered, sorted and/or paginated list and, for keyset pages,
+   * advertises the next one.
+   *
+   * @param ctx  the routing context
+   * @param etag the ETag of the response
+   */
+  private void query(RoutingContext ctx, String etag) {
+    EmployeeQueryDTO query;
+    try {
+      query = parseQuery(ctx);
+    } catch (NumberFormatException e) {
+      GlobalErrorHandler.handle(ctx, new ServiceException(ErrorCode.VALIDATION_ERROR, "Invalid numeric parameter"));
+      return;
+    } catch (IllegalArgumentException e) {
+      GlobalErrorHandler.handle(ctx, new ServiceException(ErrorCode.VALIDATION_ERROR, e.getMessage()));
+      return;
+    }
+
+    vertx.eventBus().<EncodedEmployeeList>request("employees.query", query.toJson())
+        .onSuccess(msg -> {
+          EncodedEmployeeList page = msg.body();
+          // A full keyset page means there may be more rows after the last ID
+          if (!query.hasCustomSort() && query.getLimit() != null && page.getCount() == query.getLimit()) {
+            ctx.response().putHeader("Link", "<" + nextPageLink(ctx, page.getLastId()) + ">; rel=\"next\"");
+          }
+          ctx.response().putHeader("ETag", etag);
+          sendJson(ctx, 200, encoder.encode(page.getJson()));
+        })
+        .onFailure(err -> handleError(ctx, err));
+  }
+
+  /**
+   * Builds an EmployeeQueryDTO from the request's query parameters.
+   * A keyset request without an explicit limit gets the default page size, and
+   * keyset pages always include {@code id} so the next link can be built.
+   *
+   * @param ctx the routing context
+   * @return the parsed query
+   * @throws NumberFormatException    if a numeric parameter is malformed
+   * @throws IllegalArgumentException if a requested field is unknown
+   */
+  private EmployeeQueryDTO parseQuery(RoutingContext ctx) {
+    String after = ctx.queryParams().get("after");
+    String limit = ctx.queryParams().get("limit");
+    String minSalary = ctx.queryParams().get("minSalary");
+    String maxSalary = ctx.queryParams().get("maxSalary");
+    String sort = ctx.queryParams().get("sort");
+
+    Integer parsedLimit = limit != null ? Integer.valueOf(limit) : null;
+    if (parsedLimit == null && after != null) {
+      parsedLimit = EmployeeService.DEFAULT_PAGE_SIZE;
+    }
+
+    Set<EmployeeField> fields = EmployeeField.parse(ctx.queryParams().get("fields"));
+    boolean keyset = parsedLimit != null && (sort == null || sort.isBlank());
+    if (keyset && !fields.contains(EmployeeField.ID)) {
+      fields = EnumSet.copyOf(fields);
+      fields.add(EmployeeField.ID);
+    }
+
+    return EmployeeQueryDTO.builder()
+        .department(ctx.queryParams().get("department"))
+        .minSalary(minSalary != null ? Double.valueOf(minSalary) : null)
+        .maxSalary(maxSalary != null ? Double.valueOf(maxSalary) : null)
+        .sort(sort != null && !sort.isBlank() ? Arrays.asList(sort.split(",")) : null)
+        .limit(parsedLimit)
+        .after(after)
+        .fields(fields)
+        .build();
+  }
+
+  /**
+   * Builds the next-page URL by replacing {@code after} in the current query
+   * string, so filters and the page size carry over.
+   *
+   * @param ctx    the routing context
+   * @param lastId the last ID of the current page
+   * @return the relative URL of the next page
+   */
+  private String nextPageLink(RoutingContext ctx, String lastId) {
+    StringBuilder link = new StringBuilder(ctx.request().path())
+        .append("?after=").append(URLEncoder.encode(lastId, StandardCharsets.UTF_8));
+    ctx.queryParams().forEach(param -> {
+      if (!"after".equals(param.getKey())) {
+        link.append('&').append(URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8))
+            .append('=').append(URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8));
+      }
+    });
+    if (!ctx.queryParams().contains("limit")) {
+      link.append("&limit=").append(EmployeeService.DEFAULT_PAGE_SIZE);
+    }
+    return link.toString();
+  }
+
+  /**
+   * Streams all employees as a chunked JSON array.
+   * <p>
+   * Chunks are pulled from the cursor opened by {@code EmployeeVerticle} one at
+   * a time. The next chunk is only requested once the HTTP write queue has
+   * drained, so a slow client throttles the database read instead of growing
+   * the heap.
+   * </p>
+   *
+   * @param ctx  the routing context
+   * @param etag the ETag of the response
+   */
+  private void stream(RoutingContext ctx, String etag) {
+    vertx.eventBus().<JsonObject>request("employees.stream.open", null, fieldsOptions(ctx))
+        .onSuccess(msg -> {
+          String address = msg.body().getString("address");
+          HttpServerResponse response = ctx.response()
+              .setChunked(true)
+              .putHeader("content-type", "application/json")
+              .putHeader("ETag", etag);
+
+          // Release the cursor early if the client goes away mid-stream
+          response.closeHandler(v -> vertx.eventBus().send(address, new JsonObject().put("action", "close")));
+
+          // Each chunk holds comma-separated objects, serialized from the rows
+          response.write("[");
+          pumpStream(response, address, ",", "]", true);
+        })
+        .onFailure(err -> handleError(ctx, err));
+  }
+
+  /**
+   * Handles GET /employees/export.
+   * <p>
+   * Streams the whole table from a database cursor, as NDJSON
+   * ({@code ?format=ndjson}, the default) or CSV ({@code ?format=csv}).
+   * Inactive employees are included with {@code ?includeInactive=true}, and
+   * {@code ?fields=} narrows the exported columns. Like {@code ?stream=true},
+   * the next chunk is only fetched once the HTTP write queue has drained, so
+   * memory use does not depend on table size.
+   * </p>
+   *
+   * @param ctx the routing context
+   */
+  public void export(RoutingContext ctx) {
+    ExportFormat format;
+    try {
+      format = ExportFormat.fromParam(ctx.queryParams().get("format"));
+    } catch (IllegalArgumentException e) {
+      GlobalErrorHandler.handle(ctx, new ServiceException(ErrorCode.VALIDATION_ERROR, e.getMessage()));
+      return;
+    }
+
+    String etag = checkNotModified(ctx);
+    if (etag == null) {
+      return;
+    }
+
+    DeliveryOptions options = fieldsOptions(ctx)
+        .addHeader("format", format.getParam())
+        .addHeader("includeInactive",
+            String.valueOf("true".equalsIgnoreCase(ctx.queryParams().get("includeInactive"))));
+
+    vertx.eventBus().<JsonObject>request("employees.export.open", null, options)
+        .onSuccess(msg -> {
+          String address = msg.body().getString("address");
+          HttpServerResponse response = ctx.response()
+              .setChunked(true)
+              .putHeader("content-type", format.getContentType())
+              .putHeader("Content-Disposition", "attachment; filename=\"employees." + format.getParam() + "\"")
+              .putHeader("ETag", etag);
+
+          response.closeHandler(v -> vertx.eventBus().send(address, new JsonObject().put("action", "close")));
+
+          // Export chunks are self-delimiting lines, so they are written as is
+          pumpStream(response, address, "", "", true);
+        })
+        .onFailure(err -> handleError(ctx, err));
+  }
+
+  /**
+   * Handles GET /employees/changes (delta sync).
+   * <p>
+   * Returns the employees modified after {@code ?since=} (an ISO-8601
+   * instant), oldest first, soft-deleted ones included with
+   * {@code active: false} so clients can drop them. A full page advertises the
+   * next one with a {@code Link} header that carries the last row's
+   * modification time and ID; a client follows it until a page comes back
+   * short, then keeps the last {@code lastModifiedAt} for its next poll.
+   * </p>
+   *
+   * @param ctx the routing context
+   */
+  public void changes(RoutingContext ctx) {
+    JsonObject request = new JsonObject()
+        .put("since", ctx.queryParams().get("since"))
+        .put("after", ctx.queryParams().get("after"));
+    String limit = ctx.queryParams().get("limit");
+    try {
+      if (limit != null) {
+        request.put("limit", Integer.parseInt(limit));
+      }
+    } catch (NumberFormatException e) {
+      GlobalErrorHandler.handle(ctx, new ServiceException(ErrorCode.VALIDATION_ERROR, "Invalid numeric parameter"));
+      return;
+    }
+    int pageSize = limit != null ? request.getInteger("limit") : EmployeeService.DEFAULT_PAGE_SIZE;
+
+    vertx.eventBus().<EncodedEmployeeList>request("employees.modified.since", request, fieldsOptions(ctx))
+        .onSuccess(msg -> {
+          EncodedEmployeeList page = msg.body();
+          if (page.getCount() == pageSize) {
+            ctx.response().putHeader("Link", "<" + nextChangesLink(ctx, page) + ">; rel=\"next\"");
+          }
+          sendJson(ctx, 200, encoder.encode(page.getJson()));
+        })
+        .onFailure(err -> handleError(ctx, err));
+  }
+
+  /**
+   * Handles GET /employees/stats.
+   * <p>
+   * Returns salary statistics (count, sum, average, minimum, maximum and
+   * percentiles) of the active employees, overall and per department. They
+   * are computed from the in-process snapshot held by {@code EmployeeVerticle},
+   * so the database is not queried.
+   * </p>
+   *
+   * @param ctx the routing context
+   */
+  public void stats(RoutingContext ctx) {
+    vertx.eventBus().<JsonObject>request("employees.stats", null)
+        .onSuccess(msg -> sendJson(ctx, 200, encoder.encode(msg.body())))
+        .onFailure(err -> handleError(ctx, err));
+  }
+
+  /**
+   * Builds the link to the next delta sync page, resuming after the last row
+   * of the current one.
+   *
+   * @param ctx  the routing context
+   * @param page the current, full page
+   * @return the relative URL of the next page
+   */
+  private String nextChangesLink(RoutingContext ctx, EncodedEmployeeList page) {
+    StringBuilder link = new StringBuilder(ctx.request().path())
+        .append("?since=").append(URLEncoder.encode(page.getLastModifiedAt(), StandardCharsets.UTF_8))
+        .append("&after=").append(URLEncoder.encode(page.getLastId(), StandardCharsets.UTF_8));
+    ctx.queryParams().forEach(param -> {
+      if (!"since".equals(param.getKey()) && !"after".equals(param.getKey())) {
+        link.append('&').append(URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8))
+            .append('=').append(URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8));
+      }
+    });
+    return link.toString();
+  }
+
+  /**
+   * Requests the next chunk from the stream address and writes it out,
+   * respecting the response write queue.
+   *
+   * @param response  the chunked HTTP response
+   * @param address   the per-stream Event Bus address
+   * @param separator written between non-empty chunks
+   * @param end       written after the last chunk
+   * @param first     whether no element has been written yet
+   */
+  private void pumpStream(HttpServerResponse response, String address, String separator, String end,
+      boolean first) {
+    vertx.eventBus().<Buffer>request(address, new JsonObject().put("action", "next"))
+        .onSuccess(msg -> {
+          if (response.closed()) {
+            return;
+          }
+          Buffer items = msg.body();
+          boolean written = !first;
+          if (items.length() > 0) {
+            if (written && !separator.isEmpty()) {
+              response.write(separator);
+            }
+            response.write(items);
+            written = true;
+          }
+
+          if (Boolean.parseBoolean(msg.headers().get("done"))) {
+            response.end(end);
+            return;
+          }
+
+          boolean wroteAny = written;
+          if (response.writeQueueFull()) {
+            response.drainHandler(v -> pumpStream(response, address, separator, end, !wroteAny));
+          } else {
+            pumpStream(response, address, separator, end, !wroteAny);
+          }
+        })
+        .onFailure(err -> {
+          // Headers are already sent, so the only honest signal left is to abort
+          response.reset();
+        });
+  }
+
   /**
    * Handles POST /employees.
    * Parses the request body and requests employee creation.
@@ -51,32 +464,39 @@ public class EmployeeController {
    * <b>v4.5 Update:</b> Schema validation is now handled by OpenAPI
    * RouterBuilder.
    * </p>
+   * <p>
+   * Batches are atomic by default. With {@code ?mode=partial}, every valid item
+   * is written and the response is a {@code 207 Multi-Status} array with one
+   * result (created, reactivated, conflict or invalid) per item.
+   * </p>
    *
    * @param ctx the routing context
    */
   public void create(RoutingContext ctx) {
     try {
-      String bodyStr = ctx.body().asString();
-      if (bodyStr == null || bodyStr.isBlank()) {
-        throw new ServiceException(ErrorCode.EMPTY_BODY);
-      }
-      bodyStr = bodyStr.trim();
+      // Single pass: reuses the body parsed by OpenAPI validation when present
+      EmployeeBodyParser.EmployeeBody body = EmployeeBodyParser.parse(ctx);
 
-      if (bodyStr.startsWith("[")) {
+      if (body.isBatch()) {
         // --- BATCH CREATION ---
-        JsonArray array = new JsonArray(bodyStr);
         // Note: Schema validation is now handled by OpenAPI RouterBuilder (v4.5)
+        List<EmployeeDTO> dtos = new ArrayList<>(body.batch().size());
+        body.batch().forEach(builder -> dtos.add(builder.build()));
 
-        vertx.eventBus().<JsonArray>request("employees.create.batch", array)
-            .onSuccess(msg -> {
-              ctx.response().setStatusCode(201).putHeader("content-type", "application/json")
-                  .end(msg.body().encodePrettily());
-            })
+        if ("partial".equals(ctx.queryParams().get("mode"))) {
+          // Per-item outcomes: valid items are written even if others fail
+          vertx.eventBus().<JsonArray>request("employees.create.batch.partial", dtos, EmployeeListCodec.OPTIONS)
+              .onSuccess(msg -> sendJson(ctx, 207, encoder.encode(msg.body())))
+              .onFailure(err -> handleError(ctx, err));
+          return;
+        }
+
+        vertx.eventBus().<List<EmployeeDTO>>request("employees.create.batch", dtos, EmployeeListCodec.OPTIONS)
+            .onSuccess(msg -> sendJson(ctx, 201, encoder.encode(toJsonArray(msg.body(), EmployeeField.ALL))))
             .onFailure(err -> handleError(ctx, err));
 
       } else {
         // --- SINGLE CREATION ---
-        JsonObject body = new JsonObject(bodyStr);
         // Note: Schema validation is now handled by OpenAPI RouterBuilder (v4.5)
 
         // Inject authenticated user for audit trail
@@ -85,21 +505,15 @@ public class EmployeeController {
           user = ctx.user().principal().getString("sub", "anonymous");
         }
 
-        // Use Builder pattern to construct DTO
-        EmployeeDTO dto = EmployeeDTO.builder()
-            .id(body.getString("id"))
-            .name(body.getString("name"))
-            .department(body.getString("department"))
-            .salary(body.getDouble("salary"))
-            .active(body.getBoolean("active", true)) // Default to true if missing
+        // Builder already carries the body fields ('active' defaults to true)
+        EmployeeDTO dto = body.single()
             .lastModifiedBy(user)
-            .lastModifiedAt(body.getString("lastModifiedAt"))
             .build();
 
-        vertx.eventBus().<JsonObject>request("employees.create", dto.toJson())
+        vertx.eventBus().<EmployeeDTO>request("employees.create", dto)
             .onSuccess(msg -> {
-              JsonObject savedJson = msg.body();
-              sendResponse(ctx, 201, "CREATE", savedJson.getString("id"), savedJson.getString("name"));
+              EmployeeDTO saved = msg.body();
+              sendResponse(ctx, 201, ResponseEncoder.Operation.CREATE, saved.getId(), saved.getName());
             })
             .onFailure(err -> {
               handleError(ctx, err);
@@ -122,9 +536,9 @@ public class EmployeeController {
     String id = ctx.pathParam("id");
 
     try {
-      JsonObject body = ctx.body().asJsonObject();
-      if (body == null) {
-        throw new ServiceException(ErrorCode.EMPTY_BODY);
+      EmployeeBodyParser.EmployeeBody body = EmployeeBodyParser.parse(ctx);
+      if (body.isBatch()) {
+        throw new DecodeException("Expected a JSON object");
       }
       // Note: Schema validation is now handled by OpenAPI RouterBuilder (v4.5)
 
@@ -134,20 +548,15 @@ public class EmployeeController {
         user = ctx.user().principal().getString("sub", "anonymous");
       }
 
-      // Use Builder pattern to construct DTO, injecting ID from path
-      EmployeeDTO dto = EmployeeDTO.builder()
+      // Bound body fields, with the ID injected from the path
+      EmployeeDTO dto = body.single()
           .id(id)
-          .name(body.getString("name"))
-          .department(body.getString("department"))
-          .salary(body.getDouble("salary"))
-          .active(body.getBoolean("active", true))
           .lastModifiedBy(user)
-          .lastModifiedAt(body.getString("lastModifiedAt"))
           .build();
 
-      vertx.eventBus().<JsonObject>request("employees.update", dto.toJson())
+      vertx.eventBus().<JsonObject>request("employees.update", dto)
           .onSuccess(msg -> {
-            sendResponse(ctx, 200, "UPDATE", id, dto.getName());
+            sendResponse(ctx, 200, ResponseEncoder.Operation.UPDATE, id, dto.getName());
           })
           .onFailure(err -> handleError(ctx, err));
 
@@ -177,13 +586,100 @@ public class EmployeeController {
         .lastModifiedBy(user)
         .build();
 
-    vertx.eventBus().<JsonObject>request("employees.delete", dto.toJson())
+    vertx.eventBus().<JsonObject>request("employees.delete", dto)
         .onSuccess(msg -> {
-          sendResponse(ctx, 200, "DELETE", id, "N/A");
+          sendResponse(ctx, 200, ResponseEncoder.Operation.DELETE, id, "N/A");
         })
         .onFailure(err -> handleError(ctx, err));
   }
 
+  /**
+   * Encodes a list of employees received from the Event Bus into the JSON
+   * response body.
+   *
+   * @param list   the employees
+   * @param fields the sparse fieldset to encode
+   * @return the JSON array
+   */
+  private static JsonArray toJsonArray(List<EmployeeDTO> list, Set<EmployeeField> fields) {
+    JsonArray array = new JsonArray(new ArrayList<>(list.size()));
+    list.forEach(dto -> array.add(dto.toJson(fields)));
+    return array;
+  }
+
+  /**
+   * Forwards the {@code fields} query parameter (sparse fieldset) as an Event Bus
+   * message header.
+   *
+   * @param ctx the routing context
+   * @return the delivery options carrying the fieldset, if any
+   */
+  private DeliveryOptions fieldsOptions(RoutingContext ctx) {
+    DeliveryOptions options = new DeliveryOptions();
+    String fields = ctx.queryParams().get("fields");
+    if (fields != null) {
+      options.addHeader("fields", fields);
+    }
+    return options;
+  }
+
+  /**
+   * Answers a conditional GET from the data version alone, before any Event Bus
+   * or database work.
+   * <p>
+   * The strong ETag combines the boot epoch and the table version with a hash
+   * of the request URI, since the path and query parameters (filters, page,
+   * fieldset) select the representation. Any write bumps the version and so
+   * changes every tag; a restart changes the epoch. The version is read before
+   * the data, and after a write the data comes from the primary until a
+   * replica has caught up, so the rows are never older than their tag.
+   * </p>
+   *
+   * @param ctx the routing context
+   * @return the ETag to attach to a full response, or null if a
+   *         {@code 304 Not Modified} was already sent
+   */
+  private String checkNotModified(RoutingContext ctx) {
+    String etag = "\"" + Long.toHexString(dataVersion.epoch()) + '-'
+        + Long.toHexString(dataVersion.current()) + '-'
+        + Integer.toHexString(ctx.request().uri().hashCode()) + '"';
+    if (matchesAny(ctx.request().getHeader("If-None-Match"), etag)) {
+      ctx.response()
+          .setStatusCode(304)
+          .putHeader("ETag", etag)
+          .end();
+      return null;
+    }
+    return etag;
+  }
+
+  /**
+   * Evaluates an {@code If-None-Match} header, which uses weak comparison
+   * (RFC 9110, section 13.1.2).
+   *
+   * @param header the header value, possibly null
+   * @param etag   the current ETag
+   * @return true if the header lists the ETag or is {@code *}
+   */
+  private static boolean matchesAny(String header, String etag) {
+    if (header == null) {
+      return false;
+    }
+    for (String candidate : header.split(",")) {
+      candidate = candidate.trim();
+      if (candidate.equals("*")) {
+        return true;
+      }
+      if (candidate.startsWith("W/")) {
+        candidate = candidate.substring(2);
+      }
+      if (candidate.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Maps Event Bus failures (ReplyException) back to ServiceExceptions
    * so they can be handled by the GlobalErrorHandler.
@@ -191,7 +687,7 @@ public class EmployeeController {
    * @param ctx the routing context
    * @param err the error caught from the Event Bus
    */
-  private void handleError(RoutingContext ctx, Throwable err) {
+  static void handleError(RoutingContext ctx, Throwable err) {
     if (err instanceof ReplyException) {
       ReplyException re = (ReplyException) err;
       int codeInt = re.failureCode();
@@ -213,21 +709,26 @@ public class EmployeeController {
    *
    * @param ctx        the routing context
    * @param statusCode the HTTP status code
-   * @param operation  the name of the operation performed
+   * @param operation  the operation performed
    * @param id         the ID of the affected record
    * @param name       the name of the affected record
    */
-  private void sendResponse(RoutingContext ctx, int statusCode, String operation, String id, String name) {
-    JsonObject response = new JsonObject()
-        .put("Operation", operation)
-        .put("Status", "SUCCESS")
-        .put("Affected ID", id)
-        .put("Affected Name", name)
-        .put("Time", Instant.now().toString());
+  private void sendResponse(RoutingContext ctx, int statusCode, ResponseEncoder.Operation operation, String id,
+      String name) {
+    sendJson(ctx, statusCode, encoder.success(operation, id, name));
+  }
 
+  /**
+   * Sends an already encoded JSON body.
+   *
+   * @param ctx        the routing context
+   * @param statusCode the HTTP status code
+   * @param body       the encoded body
+   */
+  private void sendJson(RoutingContext ctx, int statusCode, Buffer body) {
     ctx.response()
         .setStatusCode(statusCode)
         .putHeader("content-type", "application/json")
-        .end(response.encodePrettily());
+        .end(body);
   }
 }
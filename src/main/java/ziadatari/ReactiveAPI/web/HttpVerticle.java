@@ -1,8 +1,11 @@
 package ziadatari.ReactiveAPI.web;
 
 import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Handler;
 import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.handler.StaticHandler;
 import io.vertx.ext.web.client.WebClient;
@@ -42,9 +45,14 @@ public class HttpVerticle extends AbstractVerticle {
     WebClient webClient = WebClient.create(vertx, options);
 
     // --- CONTROLLERS ---
-    EmployeeController controller = new EmployeeController(vertx);
+    ResponseEncoder encoder = new ResponseEncoder(config().getBoolean("http.prettyJson", false));
+    EmployeeController controller = new EmployeeController(vertx, encoder);
     CustomCircuitBreaker loginCB = new CustomCircuitBreaker(vertx, "auth-login", 1000, 2000, 5);
     AuthController authController = new AuthController(vertx, loginCB);
+    ChangeFeedController changeFeedController = new ChangeFeedController(vertx,
+        config().getJsonObject("changes", new JsonObject()).getInteger("subscriberBuffer", 1000));
+    ImportController importController = new ImportController(vertx, encoder,
+        config().getJsonObject("import", new JsonObject()).getLong("maxBytes", 104857600L));
 
     // --- CIRCUIT BREAKERS FOR VERIFICATION ---
     CustomCircuitBreaker v1VerificationCB = new CustomCircuitBreaker(vertx, "v1-verify", 500, 800, 5);
@@ -66,6 +74,9 @@ public class HttpVerticle extends AbstractVerticle {
 
           // V1 (Legacy - no security required)
           routerBuilder.operation("getAllEmployeesV1").handler(controller::getAll);
+          routerBuilder.operation("getEmployeeByIdV1").handler(controller::getById);
+          routerBuilder.operation("getEmployeesByIdsV1").handler(controller::getByIds);
+          routerBuilder.operation("exportEmployeesV1").handler(controller::export);
           routerBuilder.operation("createEmployeeV1").handler(controller::create);
           routerBuilder.operation("updateEmployeeV1").handler(controller::update);
           routerBuilder.operation("deleteEmployeeV1").handler(controller::delete);
@@ -74,9 +85,16 @@ public class HttpVerticle extends AbstractVerticle {
           // Note: We apply jwtAuthHandler before the controller handler for each
           // protected operation
           routerBuilder.operation("getAllEmployeesV3").handler(controller::getAll);
+          routerBuilder.operation("getEmployeeByIdV3").handler(controller::getById);
+          routerBuilder.operation("getEmployeesByIdsV3").handler(controller::getByIds);
+          routerBuilder.operation("exportEmployeesV3").handler(controller::export);
           routerBuilder.operation("createEmployeeV3").handler(jwtAuthHandler).handler(controller::create);
           routerBuilder.operation("updateEmployeeV3").handler(jwtAuthHandler).handler(controller::update);
           routerBuilder.operation("deleteEmployeeV3").handler(jwtAuthHandler).handler(controller::delete);
+          routerBuilder.operation("getEmployeeChangesV3").handler(controller::changes);
+          routerBuilder.operation("getEmployeeStatsV3").handler(controller::stats);
+          routerBuilder.operation("streamEmployeeChangesV3").handler(changeFeedController::sse);
+          routerBuilder.operation("getImportJobV3").handler(jwtAuthHandler).handler(importController::status);
 
           // Health (defined in spec but simple handler)
           routerBuilder.operation("healthLive").handler(ctx -> {
@@ -94,6 +112,30 @@ public class HttpVerticle extends AbstractVerticle {
           // --- MAIN ROUTER (for global middleware and infrastructure) ---
           Router mainRouter = Router.router(vertx);
 
+          // 0. Streaming routes, registered ahead of the BodyHandler. The request
+          // is paused first so nothing is read while the asynchronous checks run:
+          // the import body is then streamed to disk instead of buffered, and a
+          // WebSocket upgrade needs a request that has not been read yet.
+          Handler<RoutingContext> pauseRequest = ctx -> {
+            ctx.request().pause();
+            ctx.next();
+          };
+          RateLimitHandler streamRateLimit = new RateLimitHandler(vertx, 100, 1000);
+          VerificationHandler streamVerification = new VerificationHandler(webClient, v3VerificationCB, "/v3/ip",
+              verifyHost, verifyPort, true);
+          mainRouter.post("/v3/employees/import")
+              .handler(pauseRequest)
+              .handler(streamRateLimit)
+              .handler(streamVerification)
+              .handler(jwtAuthHandler)
+              .handler(importController::upload);
+          // Change feed over WebSocket (not expressible in OpenAPI 3.0)
+          mainRouter.get("/v3/employees/changes/ws")
+              .handler(pauseRequest)
+              .handler(streamRateLimit)
+              .handler(streamVerification)
+              .handler(changeFeedController::webSocket);
+
           // 1. BodyHandler: Essential for reading JSON bodies
           mainRouter.route().handler(BodyHandler.create());
 
@@ -0,0 +1,147 @@
+package ziadatari.ReactiveAPI.web;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import ziadatari.ReactiveAPI.exception.ErrorCode;
+import ziadatari.ReactiveAPI.exception.GlobalErrorHandler;
+import ziadatari.ReactiveAPI.exception.ServiceException;
+
+/**
+ * Controller for bulk import jobs.
+ * <p>
+ * {@code POST /v3/employees/import} accepts an NDJSON body of any size. The
+ * route is mounted ahead of the BodyHandler, so the body is never buffered in
+ * memory: it is streamed to a temporary spool file, with the request paused
+ * whenever the file's write queue is full. Once the upload is complete, the
+ * file is handed to {@code ImportVerticle} and the client gets
+ * {@code 202 Accepted} with the job ID, then polls
+ * {@code GET /v3/jobs/{id}} for progress.
+ * </p>
+ */
+public class ImportController {
+
+  private final Vertx vertx;
+  private final ResponseEncoder encoder;
+  private final long maxBytes;
+
+  /**
+   * Constructs an ImportController.
+   *
+   * @param vertx    the Vertx instance used for file and Event Bus access
+   * @param encoder  encodes response bodies
+   * @param maxBytes the largest accepted upload
+   */
+  public ImportController(Vertx vertx, ResponseEncoder encoder, long maxBytes) {
+    this.vertx = vertx;
+    this.encoder = encoder;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Handles POST /v3/employees/import. The route must pause the request
+   * ahead of any asynchronous check; the body is resumed and consumed here.
+   *
+   * @param ctx the routing context
+   */
+  public void upload(RoutingContext ctx) {
+    String contentLength = ctx.request().getHeader("Content-Length");
+    try {
+      if (contentLength != null && Long.parseLong(contentLength) > maxBytes) {
+        throw new ServiceException(ErrorCode.PAYLOAD_TOO_LARGE);
+      }
+    } catch (NumberFormatException e) {
+      GlobalErrorHandler.handle(ctx, new ServiceException(ErrorCode.VALIDATION_ERROR, "Invalid Content-Length"));
+      return;
+    } catch (ServiceException e) {
+      GlobalErrorHandler.handle(ctx, e);
+      return;
+    }
+
+    // Inject authenticated user for audit trail and job ownership
+    JsonObject start = new JsonObject().put("user", user(ctx));
+
+    vertx.fileSystem().createTempFile("employee-import-", ".ndjson")
+        .compose(path -> spool(ctx.request(), path)
+            .compose(v -> vertx.eventBus().<JsonObject>request("imports.start", start.put("file", path)))
+            .onFailure(err -> vertx.fileSystem().delete(path)))
+        .onSuccess(msg -> {
+          JsonObject job = msg.body();
+          ctx.response()
+              .setStatusCode(202)
+              .putHeader("Location", "/v3/jobs/" + job.getString("id"))
+              .putHeader("content-type", "application/json")
+              .end(encoder.encode(job));
+        })
+        .onFailure(err -> EmployeeController.handleError(ctx, err));
+  }
+
+  /**
+   * Handles GET /v3/jobs/:id. Only the uploading user sees the job.
+   *
+   * @param ctx the routing context
+   */
+  public void status(RoutingContext ctx) {
+    JsonObject query = new JsonObject()
+        .put("id", ctx.pathParam("id"))
+        .put("user", user(ctx));
+    vertx.eventBus().<JsonObject>request("imports.status", query)
+        .onSuccess(msg -> ctx.response()
+            .putHeader("content-type", "application/json")
+            .end(encoder.encode(msg.body())))
+        .onFailure(err -> EmployeeController.handleError(ctx, err));
+  }
+
+  /**
+   * Streams the request body into a file, enforcing the size limit.
+   *
+   * @param request the paused upload request
+   * @param path    the spool file
+   * @return a Future that completes once the whole body is on disk
+   */
+  private Future<Void> spool(HttpServerRequest request, String path) {
+    return vertx.fileSystem().open(path, new OpenOptions().setWrite(true).setTruncateExisting(true))
+        .compose(file -> {
+          Promise<Void> done = Promise.promise();
+          long[] received = { 0 };
+          request.handler(chunk -> {
+            received[0] += chunk.length();
+            if (received[0] > maxBytes) {
+              // Discard the rest of the body; the 413 is sent right away
+              request.handler(discarded -> {
+              });
+              request.endHandler(null);
+              closeAndFail(file, done, new ServiceException(ErrorCode.PAYLOAD_TOO_LARGE));
+              return;
+            }
+            file.write(chunk);
+            if (file.writeQueueFull()) {
+              request.pause();
+              file.drainHandler(v -> request.resume());
+            }
+          });
+          request.exceptionHandler(err -> closeAndFail(file, done, err));
+          file.exceptionHandler(err -> closeAndFail(file, done, err));
+          request.endHandler(v -> file.close().onComplete(done));
+          request.resume();
+          return done.future();
+        });
+  }
+
+  private static String user(RoutingContext ctx) {
+    if (ctx.user() != null && ctx.user().principal() != null) {
+      return ctx.user().principal().getString("sub", "anonymous");
+    }
+    return "anonymous";
+  }
+
+  private static void closeAndFail(AsyncFile file, Promise<Void> done, Throwable err) {
+    file.close();
+    done.tryFail(err);
+  }
+}
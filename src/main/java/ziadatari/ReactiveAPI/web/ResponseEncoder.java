@@ -0,0 +1,152 @@
+package ziadatari.ReactiveAPI.web;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Encodes employee endpoint responses straight into a {@link Buffer}.
+ * <p>
+ * Success responses ({@code Operation}/{@code Status}/{@code Affected ID}/
+ * {@code Affected Name}/{@code Time}) are assembled from pre-encoded UTF-8
+ * fragments: only the ID and name are escaped per request, and the timestamp
+ * string is rebuilt at most once per millisecond. No intermediate
+ * {@link JsonObject} or String is created.
+ * </p>
+ * <p>
+ * Output is compact by default. Pretty printing is a debug option
+ * ({@code HTTP_PRETTY_JSON=true}) and takes the regular JsonObject path.
+ * </p>
+ * <p>
+ * <b>Threading:</b> each HttpVerticle instance owns one encoder (through its
+ * controller), so the timestamp cache is confined to one event loop.
+ * </p>
+ */
+public class ResponseEncoder {
+
+  private static final byte[] AFFECTED_ID = bytes(",\"Affected ID\":");
+  private static final byte[] AFFECTED_NAME = bytes(",\"Affected Name\":");
+  private static final byte[] TIME = bytes(",\"Time\":\"");
+  private static final byte[] END = bytes("\"}");
+  private static final byte[] NULL = bytes("null");
+
+  private final boolean pretty;
+
+  private long timestampMillis = -1;
+  private byte[] timestamp;
+
+  /**
+   * Constructs a ResponseEncoder.
+   *
+   * @param pretty whether to pretty-print responses (debug only)
+   */
+  public ResponseEncoder(boolean pretty) {
+    this.pretty = pretty;
+  }
+
+  /**
+   * The operations reported by success responses, each with its pre-encoded
+   * opening fragment.
+   */
+  public enum Operation {
+    CREATE,
+    UPDATE,
+    DELETE;
+
+    private final byte[] prefix = bytes("{\"Operation\":\"" + name() + "\",\"Status\":\"SUCCESS\"");
+  }
+
+  /**
+   * Encodes the unified success response of a mutation.
+   *
+   * @param operation the operation performed
+   * @param id        the ID of the affected record
+   * @param name      the name of the affected record
+   * @return the encoded response body
+   */
+  public Buffer success(Operation operation, String id, String name) {
+    if (pretty) {
+      return Buffer.buffer(new JsonObject()
+          .put("Operation", operation.name())
+          .put("Status", "SUCCESS")
+          .put("Affected ID", id)
+          .put("Affected Name", name)
+          .put("Time", Instant.now().toString())
+          .encodePrettily());
+    }
+
+    Buffer buffer = Buffer.buffer(160);
+    buffer.appendBytes(operation.prefix);
+    buffer.appendBytes(AFFECTED_ID);
+    appendString(buffer, id);
+    buffer.appendBytes(AFFECTED_NAME);
+    appendString(buffer, name);
+    buffer.appendBytes(TIME);
+    buffer.appendBytes(timestamp());
+    buffer.appendBytes(END);
+    return buffer;
+  }
+
+  /**
+   * Encodes a JSON object response body.
+   *
+   * @param object the object to encode
+   * @return the encoded response body
+   */
+  public Buffer encode(JsonObject object) {
+    return pretty ? Buffer.buffer(object.encodePrettily()) : object.toBuffer();
+  }
+
+  /**
+   * Encodes a JSON array response body.
+   *
+   * @param array the array to encode
+   * @return the encoded response body
+   */
+  public Buffer encode(JsonArray array) {
+    return pretty ? Buffer.buffer(array.encodePrettily()) : array.toBuffer();
+  }
+
+  /**
+   * Passes through a JSON body that was already serialized elsewhere (e.g. a
+   * list written straight from database rows), re-indenting it only in debug
+   * mode.
+   *
+   * @param json the serialized JSON array
+   * @return the response body
+   */
+  public Buffer encode(Buffer json) {
+    return pretty ? Buffer.buffer(new JsonArray(json).encodePrettily()) : json;
+  }
+
+  /**
+   * Returns the current time as UTF-8 ISO-8601 bytes, reusing the previous
+   * value while the millisecond has not changed.
+   */
+  private byte[] timestamp() {
+    long now = System.currentTimeMillis();
+    if (now != timestampMillis) {
+      timestampMillis = now;
+      timestamp = bytes(Instant.ofEpochMilli(now).toString());
+    }
+    return timestamp;
+  }
+
+  private static void appendString(Buffer buffer, String value) {
+    if (value == null) {
+      buffer.appendBytes(NULL);
+      return;
+    }
+    buffer.appendByte((byte) '"');
+    buffer.appendBytes(JsonStringEncoder.getInstance().quoteAsUTF8(value));
+    buffer.appendByte((byte) '"');
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
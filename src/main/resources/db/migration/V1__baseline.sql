@@ -1,3 +1,6 @@
+-- Schema as first shipped in init.sql. On databases created from that file
+-- every statement is a no-op, so they can adopt the migration history as is.
+
 CREATE TABLE IF NOT EXISTS users (
     id INT AUTO_INCREMENT PRIMARY KEY,
     username VARCHAR(255) NOT NULL UNIQUE,
@@ -14,11 +17,10 @@ CREATE TABLE IF NOT EXISTS employees (
     last_modified_at VARCHAR(64)
 );
 
--- Insert default admin user (password: 'password')
--- Hash generated via BCrypt
--- Insert default admin user (password: 'password123')
-INSERT IGNORE INTO users (username, password_hash) VALUES ('admin', '$2a$10$0XNh9hN/WBa56oEAauPGee/zse/Cm60i.GUeA36cgTcj91TXb8D1y');
+-- Default admin user (password: 'password123'), hash generated via BCrypt
+INSERT IGNORE INTO users (username, password_hash)
+VALUES ('admin', '$2a$10$0XNh9hN/WBa56oEAauPGee/zse/Cm60i.GUeA36cgTcj91TXb8D1y');
 
--- Insert sample employee
-INSERT IGNORE INTO employees (id, name, department, salary, active, last_modified_by, last_modified_at) 
+-- Sample employee
+INSERT IGNORE INTO employees (id, name, department, salary, active, last_modified_by, last_modified_at)
 VALUES ('123e4567-e89b-12d3-a456-426614174000', 'John Doe', 'Engineering', 75000, 1, 'system', '2023-01-01T12:00:00');
@@ -0,0 +1,128 @@
+-- Storage types and indexes for the repository's query shapes.
+--
+-- MySQL commits each DDL statement on its own, so if a step fails the earlier
+-- ones stay applied and the migration is not recorded. Every step is therefore
+-- guarded on information_schema and skipped once done, and the next start
+-- resumes where the failed run stopped. A guarded step is three statements:
+-- pick the DDL or a no-op, prepare it, execute it.
+
+-- uq_employees_name_department: one record per (name, department). Serves
+--   findByNameAndDepartment(Pairs) and backs the atomic create upsert. Added
+--   first, before anything is rewritten: it fails if duplicates already exist
+--   (merge them, then restart).
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND index_name = 'uq_employees_name_department'),
+    'DO 0',
+    'ALTER TABLE employees ADD UNIQUE KEY uq_employees_name_department (name, department)');
+PREPARE step FROM @ddl;
+EXECUTE step;
+
+-- last_modified_at: ISO-8601 text -> DATETIME(6) in UTC, so delta sync
+-- (GET /v3/employees/changes?since=) can range-scan an index
+SET @ddl = IF(NOT EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'last_modified_at_new')
+      AND EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'last_modified_at' AND data_type <> 'datetime'),
+    'ALTER TABLE employees ADD COLUMN last_modified_at_new DATETIME(6) AFTER last_modified_at',
+    'DO 0');
+PREPARE step FROM @ddl;
+EXECUTE step;
+
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'last_modified_at_new')
+      AND EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'last_modified_at'),
+    'UPDATE employees SET last_modified_at_new = CAST(REPLACE(REPLACE(last_modified_at, ''T'', '' ''), ''Z'', '''') AS DATETIME(6))',
+    'DO 0');
+PREPARE step FROM @ddl;
+EXECUTE step;
+
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'last_modified_at_new')
+      AND EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'last_modified_at'),
+    'ALTER TABLE employees DROP COLUMN last_modified_at',
+    'DO 0');
+PREPARE step FROM @ddl;
+EXECUTE step;
+
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'last_modified_at_new'),
+    'ALTER TABLE employees CHANGE COLUMN last_modified_at_new last_modified_at DATETIME(6)',
+    'DO 0');
+PREPARE step FROM @ddl;
+EXECUTE step;
+
+-- id: UUID text (36 bytes) -> BINARY(16). Byte order equals hex order, so
+-- ORDER BY id and keyset cursors handed out before the switch stay valid.
+-- The text column is only read and dropped while it is still text: once the
+-- keys are binary, rerunning these steps must not convert them again.
+SET @ddl = IF(NOT EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'id_bin')
+      AND EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'id' AND data_type = 'varchar'),
+    'ALTER TABLE employees ADD COLUMN id_bin BINARY(16) FIRST',
+    'DO 0');
+PREPARE step FROM @ddl;
+EXECUTE step;
+
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'id_bin')
+      AND EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'id' AND data_type = 'varchar'),
+    'UPDATE employees SET id_bin = UNHEX(REPLACE(id, ''-'', ''''))',
+    'DO 0');
+PREPARE step FROM @ddl;
+EXECUTE step;
+
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'id_bin')
+      AND EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'id' AND data_type = 'varchar'),
+    'ALTER TABLE employees DROP PRIMARY KEY, DROP COLUMN id',
+    'DO 0');
+PREPARE step FROM @ddl;
+EXECUTE step;
+
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'id_bin'),
+    'ALTER TABLE employees CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY (id)',
+    'DO 0');
+PREPARE step FROM @ddl;
+EXECUTE step;
+
+-- idx_employees_active: list, page, stream and export scans (active = true
+--   ORDER BY id). InnoDB appends the primary key, so this is (active, id).
+-- idx_employees_department_salary: ?department= filters (prefix) and
+--   department + salary ranges.
+-- idx_employees_salary: salary ranges and salary-ordered top-N queries.
+-- idx_employees_last_modified_at: delta sync.
+-- One ALTER TABLE is applied as a whole, so checking one index is enough.
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND index_name = 'idx_employees_active'),
+    'DO 0',
+    'ALTER TABLE employees
+        ADD INDEX idx_employees_active (active),
+        ADD INDEX idx_employees_department_salary (department, salary),
+        ADD INDEX idx_employees_salary (salary),
+        ADD INDEX idx_employees_last_modified_at (last_modified_at)');
+PREPARE step FROM @ddl;
+EXECUTE step;
+
+DEALLOCATE PREPARE step;
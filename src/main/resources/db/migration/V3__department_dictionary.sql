@@ -0,0 +1,68 @@
+-- Department names move into a dictionary table; employees keep a 2-byte ID.
+-- There are a few dozen departments, so the repository holds the whole table
+-- in memory and decodes IDs itself instead of joining.
+--
+-- Like V2, every step is guarded on information_schema and skipped once done,
+-- so a run that fails halfway resumes on the next start.
+
+CREATE TABLE IF NOT EXISTS departments (
+    id SMALLINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    UNIQUE KEY uq_departments_name (name)
+);
+
+-- Spellings that differ only in case collapse into one department, as they
+-- already did under uq_employees_name_department
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'department'),
+    'INSERT INTO departments (name)
+     SELECT MIN(e.department) FROM employees e
+     WHERE NOT EXISTS (SELECT 1 FROM departments d WHERE d.name = e.department)
+     GROUP BY e.department',
+    'DO 0');
+PREPARE step FROM @ddl;
+EXECUTE step;
+
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'department_id'),
+    'DO 0',
+    'ALTER TABLE employees ADD COLUMN department_id SMALLINT UNSIGNED AFTER department');
+PREPARE step FROM @ddl;
+EXECUTE step;
+
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'department'),
+    'UPDATE employees e JOIN departments d ON d.name = e.department SET e.department_id = d.id',
+    'DO 0');
+PREPARE step FROM @ddl;
+EXECUTE step;
+
+-- Both department indexes now key on the ID: 2 bytes instead of up to 255
+-- characters per entry, and ?department= filters compare integers
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND column_name = 'department'),
+    'ALTER TABLE employees
+        DROP INDEX uq_employees_name_department,
+        DROP INDEX idx_employees_department_salary,
+        DROP COLUMN department,
+        MODIFY COLUMN department_id SMALLINT UNSIGNED NOT NULL,
+        ADD UNIQUE KEY uq_employees_name_department (name, department_id),
+        ADD INDEX idx_employees_department_salary (department_id, salary)',
+    'DO 0');
+PREPARE step FROM @ddl;
+EXECUTE step;
+
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.table_constraints
+        WHERE table_schema = DATABASE() AND table_name = 'employees'
+          AND constraint_name = 'fk_employees_department'),
+    'DO 0',
+    'ALTER TABLE employees
+        ADD CONSTRAINT fk_employees_department FOREIGN KEY (department_id) REFERENCES departments (id)');
+PREPARE step FROM @ddl;
+EXECUTE step;
+
+DEALLOCATE PREPARE step;